@@ -11,6 +11,8 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import openmods.api.IInventoryCallback;
+import openmods.tileentity.OpenTileEntity;
+import openmods.tileentity.OpenTileEntity.WakeCondition;
 
 public class GenericInventory implements IInventory {
 
@@ -117,8 +119,10 @@ public class GenericInventory implements IInventory {
 	}
 
 	public void onInventoryChanged(int slotNumber) {
-		for (IInventoryCallback callback : callbacks)
+		for (IInventoryCallback callback : callbacks) {
+			if (callback instanceof OpenTileEntity) ((OpenTileEntity)callback).wakeUp(WakeCondition.INVENTORY_CHANGE);
 			callback.onInventoryChanged(this, slotNumber);
+		}
 	}
 
 	@Override
@@ -9,4 +9,20 @@ public class LibConfig {
 	@ConfigProperty(category = "net", name = "debugLogPackets", comment = "PacketHandler will dump info about packets to separate file")
 	public static boolean logPackets = false;
 
+	@OnLineModifiable
+	@ConfigProperty(category = "net", name = "debugLogPacketsSampling", comment = "Only every n-th packet will be logged when debugLogPackets is enabled (1 - log all)")
+	public static int logPacketsSampling = 1;
+
+	@OnLineModifiable
+	@ConfigProperty(category = "performance", name = "tileTaskBudget", comment = "Time (in microseconds) per world tick available for periodic tile tasks. Remaining tasks are deferred to next tick")
+	public static int tileTaskBudget = 2000;
+
+	@OnLineModifiable
+	@ConfigProperty(category = "performance", name = "shapeBlockBudget", comment = "Maximum number of blocks placed per world tick by shapes queued in ShapePlacer")
+	public static int shapeBlockBudget = 2048;
+
+	@OnLineModifiable
+	@ConfigProperty(category = "performance", name = "shapeCacheSize", comment = "Maximum memory (in kilobytes) used by cache of generated shapes")
+	public static int shapeCacheSize = 4096;
+
 }
@@ -4,20 +4,29 @@ import java.io.File;
 
 import net.minecraftforge.common.Configuration;
 import net.minecraftforge.common.MinecraftForge;
+import openmods.asm.TransformerMetrics;
 import openmods.config.CommandConfig;
 import openmods.config.ConfigProcessing;
 import openmods.entity.DelayedEntityLoadManager;
 import openmods.integration.Integration;
+import openmods.network.CommandNetworkMetrics;
 import openmods.network.EventPacket;
 import openmods.network.PacketHandler;
 import openmods.network.events.TileEntityEventHandler;
 import openmods.proxy.IOpenModsProxy;
+import openmods.shapes.ShapePlacer;
 import openmods.sync.SyncableManager;
+import openmods.tileentity.CommandTileProfiler;
+import openmods.tileentity.TileProfiler;
+import openmods.tileentity.TileSleepManager;
+import openmods.tileentity.TileTaskScheduler;
 import cpw.mods.fml.common.*;
 import cpw.mods.fml.common.Mod.EventHandler;
 import cpw.mods.fml.common.Mod.Instance;
 import cpw.mods.fml.common.event.*;
 import cpw.mods.fml.common.network.NetworkMod;
+import cpw.mods.fml.common.registry.TickRegistry;
+import cpw.mods.fml.relauncher.Side;
 
 @Mod(modid = "OpenMods", name = "OpenMods", version = "0.2", dependencies = "required-after:OpenModsCore")
 @NetworkMod(serverSideRequired = true, clientSideRequired = false, channels = { PacketHandler.CHANNEL_SYNC, PacketHandler.CHANNEL_EVENTS }, packetHandler = PacketHandler.class)
@@ -51,6 +60,16 @@ public class OpenMods {
 	@EventHandler
 	public void init(FMLInitializationEvent evt) {
 		syncableManager = new SyncableManager();
+		TickRegistry.registerTickHandler(new TileProfiler.TickHandler(), Side.SERVER);
+		TileSleepManager sleepManager = new TileSleepManager();
+		TickRegistry.registerTickHandler(sleepManager, Side.SERVER);
+		MinecraftForge.EVENT_BUS.register(sleepManager);
+		TileTaskScheduler taskScheduler = new TileTaskScheduler();
+		TickRegistry.registerTickHandler(taskScheduler, Side.SERVER);
+		MinecraftForge.EVENT_BUS.register(taskScheduler);
+		ShapePlacer shapePlacer = new ShapePlacer();
+		TickRegistry.registerTickHandler(shapePlacer, Side.SERVER);
+		MinecraftForge.EVENT_BUS.register(shapePlacer);
 		proxy.init();
 	}
 
@@ -58,10 +77,13 @@ public class OpenMods {
 	public void postInit(FMLPostInitializationEvent evt) {
 		Integration.selectModules();
 		proxy.postInit();
+		TransformerMetrics.logSummary(OpenModsCorePlugin.log);
 	}
 
 	@EventHandler
 	public void severStart(FMLServerStartingEvent evt) {
 		evt.registerServerCommand(new CommandConfig("om_config_s", true));
+		evt.registerServerCommand(new CommandNetworkMetrics("om_net_stats"));
+		evt.registerServerCommand(new CommandTileProfiler("om_tile_profiler"));
 	}
 }
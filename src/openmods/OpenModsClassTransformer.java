@@ -1,6 +1,7 @@
 package openmods;
 
 import net.minecraft.launchwrapper.IClassTransformer;
+import openmods.asm.TransformerMetrics;
 import openmods.asm.VisitorHelper;
 import openmods.asm.VisitorHelper.TransformProvider;
 import openmods.include.IncludingClassVisitor;
@@ -13,6 +14,10 @@ public class OpenModsClassTransformer implements IClassTransformer {
 
 	private static boolean applyMovementTransformer = System.getProperty("openmods.legacy_movement") == null;
 
+	private static final String METRICS_MOVEMENT = "movement";
+
+	private static final String METRICS_INCLUDE = "include";
+
 	private final static TransformProvider INCLUDING_CV = new TransformProvider() {
 		@Override
 		public ClassVisitor createVisitor(ClassVisitor cv) {
@@ -24,16 +29,28 @@ public class OpenModsClassTransformer implements IClassTransformer {
 	public byte[] transform(final String name, String transformedName, byte[] bytes) {
 		if (bytes == null) return bytes;
 
-		if (applyMovementTransformer && transformedName.equals("net.minecraft.client.entity.EntityPlayerSP")) return VisitorHelper.apply(bytes, ClassWriter.COMPUTE_FRAMES, new TransformProvider() {
-			@Override
-			public ClassVisitor createVisitor(ClassVisitor cv) {
-				OpenModsCorePlugin.log.info(String.format("Trying to apply movement callback (class: %s)", name));
-				return new MovementPatcher(name, cv);
-			}
-		});
+		if (applyMovementTransformer && transformedName.equals("net.minecraft.client.entity.EntityPlayerSP")) {
+			final long start = System.nanoTime();
+			byte[] result = VisitorHelper.apply(bytes, ClassWriter.COMPUTE_FRAMES, new TransformProvider() {
+				@Override
+				public ClassVisitor createVisitor(ClassVisitor cv) {
+					OpenModsCorePlugin.log.info(String.format("Trying to apply movement callback (class: %s)", name));
+					return new MovementPatcher(name, cv);
+				}
+			});
+			TransformerMetrics.record(METRICS_MOVEMENT, transformedName, start, bytes, result);
+			return result;
+		}
+
+		if (name.startsWith("net.minecraft.") || !IncludingClassVisitor.mayBeExtendable(bytes)) {
+			TransformerMetrics.recordSkipped(METRICS_INCLUDE);
+			return bytes;
+		}
 
-		if (name.startsWith("net.minecraft.")) return bytes;
+		final long start = System.nanoTime();
 		// / no need for COMPUTE_FRAMES, we can handle simple stuff
-		return VisitorHelper.apply(bytes, 0, INCLUDING_CV);
+		byte[] result = VisitorHelper.apply(bytes, 0, INCLUDING_CV);
+		TransformerMetrics.record(METRICS_INCLUDE, transformedName, start, bytes, result);
+		return result;
 	}
 }
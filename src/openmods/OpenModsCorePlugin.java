@@ -1,8 +1,10 @@
 package openmods;
 
+import java.io.File;
 import java.util.Map;
 import java.util.logging.Logger;
 
+import openmods.asm.TransformerMetrics;
 import cpw.mods.fml.common.FMLLog;
 import cpw.mods.fml.relauncher.IFMLLoadingPlugin;
 import cpw.mods.fml.relauncher.IFMLLoadingPlugin.TransformerExclusions;
@@ -33,7 +35,10 @@ public class OpenModsCorePlugin implements IFMLLoadingPlugin {
 	}
 
 	@Override
-	public void injectData(Map<String, Object> data) {}
+	public void injectData(Map<String, Object> data) {
+		Object mcLocation = data.get("mcLocation");
+		if (mcLocation instanceof File) TransformerMetrics.openCsvOutput((File)mcLocation, log);
+	}
 
 	@Override
 	@Deprecated
@@ -0,0 +1,111 @@
+package openmods.asm;
+
+import java.io.*;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Lightweight counters for class transformers. Aggregates are always
+ * collected, per-class rows are written only when CSV output is enabled
+ * (system property {@value #CSV_PROPERTY})
+ */
+public class TransformerMetrics {
+
+	public static final String CSV_PROPERTY = "openmods.transformer_metrics";
+
+	public static final String CSV_FILE_NAME = "open-mods-transformer.csv";
+
+	public static class Counters {
+		public final AtomicLong visited = new AtomicLong();
+		public final AtomicLong modified = new AtomicLong();
+		public final AtomicLong skipped = new AtomicLong();
+		public final AtomicLong timeNanos = new AtomicLong();
+		public final AtomicLong bytesIn = new AtomicLong();
+		public final AtomicLong bytesOut = new AtomicLong();
+	}
+
+	private static final Map<String, Counters> counters = Maps.newLinkedHashMap();
+
+	private static volatile PrintWriter csvOutput;
+
+	private static synchronized Counters getCounters(String transformer) {
+		Counters result = counters.get(transformer);
+		if (result == null) {
+			result = new Counters();
+			counters.put(transformer, result);
+		}
+		return result;
+	}
+
+	public static synchronized Map<String, Counters> getAllCounters() {
+		return ImmutableMap.copyOf(counters);
+	}
+
+	public static synchronized void openCsvOutput(File dir, Logger log) {
+		if (csvOutput != null || System.getProperty(CSV_PROPERTY) == null) return;
+		try {
+			File output = new File(dir, CSV_FILE_NAME);
+			csvOutput = new PrintWriter(new BufferedWriter(new FileWriter(output)));
+			csvOutput.println("transformer,class,modified,time_ns,bytes_in,bytes_out");
+
+			// classes are loaded until game exits, so file is closed as late as possible
+			Runtime.getRuntime().addShutdownHook(new Thread("OpenMods transformer metrics writer") {
+				@Override
+				public void run() {
+					closeCsvOutput();
+				}
+			});
+		} catch (IOException e) {
+			log.log(Level.WARNING, "Failed to open transformer metrics file", e);
+		}
+	}
+
+	private static synchronized void closeCsvOutput() {
+		if (csvOutput != null) {
+			csvOutput.close();
+			csvOutput = null;
+		}
+	}
+
+	public static void recordSkipped(String transformer) {
+		getCounters(transformer).skipped.incrementAndGet();
+	}
+
+	/**
+	 * @param startTime
+	 *            value of {@link System#nanoTime()} before transformation
+	 */
+	public static void record(String transformer, String className, long startTime, byte[] input, byte[] output) {
+		final long time = System.nanoTime() - startTime;
+		final boolean modified = input != output;
+
+		Counters c = getCounters(transformer);
+		c.visited.incrementAndGet();
+		if (modified) c.modified.incrementAndGet();
+		c.timeNanos.addAndGet(time);
+		c.bytesIn.addAndGet(input.length);
+		c.bytesOut.addAndGet(output.length);
+
+		if (csvOutput != null) writeCsvRow(transformer, className, modified, time, input.length, output.length);
+	}
+
+	private static synchronized void writeCsvRow(String transformer, String className, boolean modified, long time, int bytesIn, int bytesOut) {
+		if (csvOutput != null) csvOutput.printf("%s,%s,%s,%d,%d,%d%n", transformer, className, modified, time, bytesIn, bytesOut);
+	}
+
+	public static synchronized void logSummary(Logger log) {
+		for (Map.Entry<String, Counters> e : counters.entrySet()) {
+			Counters c = e.getValue();
+			log.info(String.format("Transformer '%s': visited %d, modified %d, skipped %d, time %.2f ms, bytes in %d, bytes out %d",
+					e.getKey(), c.visited.get(), c.modified.get(), c.skipped.get(),
+					c.timeNanos.get() / 1000000.0, c.bytesIn.get(), c.bytesOut.get()));
+		}
+
+		if (csvOutput != null) csvOutput.flush();
+	}
+}
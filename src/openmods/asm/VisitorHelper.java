@@ -28,6 +28,24 @@ public class VisitorHelper {
 		}
 	}
 
+	/**
+	 * Cheap check for presence of string in class constant pool (or
+	 * anywhere else in class data). May give false positives, so it's
+	 * only suitable for skipping classes that certainly don't need
+	 * transformation. Only works for ASCII strings.
+	 */
+	public static boolean containsString(byte[] bytes, byte[] pattern) {
+		final int last = bytes.length - pattern.length;
+		final byte first = pattern[0];
+		outer: for (int i = 0; i <= last; i++) {
+			if (bytes[i] != first) continue;
+			for (int j = 1; j < pattern.length; j++)
+				if (bytes[i + j] != pattern[j]) continue outer;
+			return true;
+		}
+		return false;
+	}
+
 	public static boolean useSrgNames() {
 		Boolean deobfuscated = (Boolean)Launch.blackboard.get("fml.deobfuscatedEnvironment");
 		return deobfuscated == null || !deobfuscated;
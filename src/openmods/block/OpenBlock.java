@@ -20,6 +20,7 @@ import openmods.api.*;
 import openmods.config.IRegisterableBlock;
 import openmods.sync.SyncableDirection;
 import openmods.tileentity.OpenTileEntity;
+import openmods.tileentity.OpenTileEntity.WakeCondition;
 import openmods.tileentity.SyncedTileEntity;
 import openmods.utils.BlockUtils;
 
@@ -256,6 +257,11 @@ public abstract class OpenBlock extends Block implements IRegisterableBlock {
 	@Override
 	public void onNeighborBlockChange(World world, int x, int y, int z, int blockId) {
 		TileEntity te = world.getBlockTileEntity(x, y, z);
+		if (te instanceof OpenTileEntity) {
+			OpenTileEntity ote = (OpenTileEntity)te;
+			ote.invalidateNeighbourCache();
+			ote.wakeUp(WakeCondition.NEIGHBOUR_CHANGE);
+		}
 		if (te instanceof INeighbourAwareTile) {
 			((INeighbourAwareTile)te).onNeighbourChanged(blockId);
 		}
@@ -445,15 +451,33 @@ public abstract class OpenBlock extends Block implements IRegisterableBlock {
 		return getUnrotatedTexture(newRotation);
 	}
 
+	// [rotation mode][metadata][side], filled on class init
+	private static final ForgeDirection[][][] ROTATED_SIDES;
+
+	static {
+		final BlockRotationMode[] modes = BlockRotationMode.values();
+		ROTATED_SIDES = new ForgeDirection[modes.length][16][6];
+		for (BlockRotationMode mode : modes)
+			for (int metadata = 0; metadata < 16; metadata++)
+				for (int side = 0; side < 6; side++)
+					ROTATED_SIDES[mode.ordinal()][metadata][side] = calculateRotatedSide(mode, side, metadata);
+	}
+
 	/***
 	 * I'm sure there's a better way of doing this, but the idea is that we
 	 * rotate the block based on the metadata (rotation), so when we try to get
 	 * a texture we're referencing the side when 'unrotated'
 	 */
 	public ForgeDirection rotateSideByMetadata(int side, int metadata) {
+		final BlockRotationMode mode = getRotationMode();
+		if (side >= 0 && side < 6 && metadata >= 0 && metadata < 16) return ROTATED_SIDES[mode.ordinal()][metadata][side];
+		return calculateRotatedSide(mode, side, metadata);
+	}
+
+	private static ForgeDirection calculateRotatedSide(BlockRotationMode mode, int side, int metadata) {
 		ForgeDirection rotation = ForgeDirection.getOrientation(metadata);
 		ForgeDirection dir = ForgeDirection.getOrientation(side);
-		switch (getRotationMode()) {
+		switch (mode) {
 			case FOUR_DIRECTIONS:
 			case NONE:
 				switch (rotation) {
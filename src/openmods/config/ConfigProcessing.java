@@ -6,6 +6,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import net.minecraft.block.Block;
@@ -18,10 +19,12 @@ import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidRegistry;
 import openmods.Log;
 import openmods.config.RegisterBlock.RegisterTileEntity;
+import openmods.utils.AnnotationMap;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Table;
 
@@ -44,8 +47,8 @@ public class ConfigProcessing {
 			this.configClass = configClass;
 		}
 
-		void tryProcessConfig(Field field) {
-			ConfigPropertyMeta meta = ConfigPropertyMeta.createMetaForField(config, field);
+		void tryProcessConfig(Field field, AnnotationMap annotations) {
+			ConfigPropertyMeta meta = ConfigPropertyMeta.createMetaForField(config, field, annotations);
 			if (meta != null) {
 				meta.updateValueFromConfig(false);
 				properties.put(meta.category.toLowerCase(), meta.name.toLowerCase(), meta);
@@ -71,6 +74,35 @@ public class ConfigProcessing {
 
 	private static final Map<String, ModConfig> configs = Maps.newHashMap();
 
+	private static class IndexedField {
+		public final Field field;
+		public final AnnotationMap annotations;
+
+		private IndexedField(Field field) {
+			this.field = field;
+			this.annotations = new AnnotationMap(field.getAnnotations());
+		}
+	}
+
+	/**
+	 * Config classes are usually scanned few times (config values, items,
+	 * blocks, fluids), so public fields and their annotations are
+	 * collected only once per class
+	 */
+	private static final Map<Class<?>, List<IndexedField>> fieldIndex = Maps.newHashMap();
+
+	private static synchronized List<IndexedField> getIndexedFields(Class<?> cls) {
+		List<IndexedField> result = fieldIndex.get(cls);
+		if (result == null) {
+			ImmutableList.Builder<IndexedField> builder = ImmutableList.builder();
+			for (Field f : cls.getFields())
+				builder.add(new IndexedField(f));
+			result = builder.build();
+			fieldIndex.put(cls, result);
+		}
+		return result;
+	}
+
 	public static Collection<String> getConfigsIds() {
 		return Collections.unmodifiableCollection(configs.keySet());
 	}
@@ -109,13 +141,15 @@ public class ConfigProcessing {
 	}
 
 	public static void processAnnotations(File configFile, String modId, Configuration config, Class<?> klazz) {
-		Preconditions.checkState(!configs.containsKey(modId), "Trying to configure mod '%s' twice", modId);
+		final String modKey = modId.toLowerCase();
+		Preconditions.checkState(!configs.containsKey(modKey), "Trying to configure mod '%s' twice", modId);
 		ModConfig configMeta = new ModConfig(modId, configFile, config, klazz);
-		configs.put(modId.toLowerCase(), configMeta);
+		configs.put(modKey, configMeta);
 
-		for (Field f : klazz.getFields()) {
+		for (IndexedField entry : getIndexedFields(klazz)) {
+			final Field f = entry.field;
 			{
-				ItemId a = f.getAnnotation(ItemId.class);
+				ItemId a = entry.annotations.get(ItemId.class);
 				if (a != null) {
 					getItem(config, f, a.description());
 					continue;
@@ -123,13 +157,13 @@ public class ConfigProcessing {
 			}
 
 			{
-				BlockId a = f.getAnnotation(BlockId.class);
+				BlockId a = entry.annotations.get(BlockId.class);
 				if (a != null) {
 					getBlock(config, f, a.description());
 				}
 			}
 
-			configMeta.tryProcessConfig(f);
+			configMeta.tryProcessConfig(f, entry.annotations);
 		}
 	}
 
@@ -138,9 +172,10 @@ public class ConfigProcessing {
 	}
 
 	public static <I, A extends Annotation> void processAnnotations(Class<?> config, Class<I> fieldClass, Class<A> annotationClass, IAnnotationProcessor<I, A> processor) {
-		for (Field f : config.getFields()) {
+		for (IndexedField entry : getIndexedFields(config)) {
+			final Field f = entry.field;
 			if (Modifier.isStatic(f.getModifiers()) && fieldClass.isAssignableFrom(f.getType())) {
-				A annotation = f.getAnnotation(annotationClass);
+				A annotation = entry.annotations.get(annotationClass);
 				if (annotation != null) {
 					try {
 						@SuppressWarnings("unchecked")
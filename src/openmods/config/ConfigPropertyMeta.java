@@ -8,6 +8,7 @@ import java.util.Map;
 import net.minecraftforge.common.*;
 import net.minecraftforge.common.Property.Type;
 import openmods.Log;
+import openmods.utils.AnnotationMap;
 import openmods.utils.io.IStringSerializable;
 import openmods.utils.io.StringConversionException;
 import openmods.utils.io.TypeRW;
@@ -51,11 +52,10 @@ public abstract class ConfigPropertyMeta {
 			.put(String.class, Property.Type.STRING)
 			.build();
 
-	protected ConfigPropertyMeta(Configuration config, Field field, ConfigProperty annotation) {
+	protected ConfigPropertyMeta(Configuration config, Field field, ConfigProperty annotation, boolean onLine) {
 		this.comment = annotation.comment();
 		this.category = annotation.category();
-		OnLineModifiable mod = field.getAnnotation(OnLineModifiable.class);
-		this.onLine = mod != null;
+		this.onLine = onLine;
 
 		String name = annotation.name();
 		String category = annotation.category();
@@ -144,8 +144,8 @@ public abstract class ConfigPropertyMeta {
 
 	private static class SingleValue extends ConfigPropertyMeta {
 
-		protected SingleValue(Configuration config, Field field, ConfigProperty annotation) {
-			super(config, field, annotation);
+		protected SingleValue(Configuration config, Field field, ConfigProperty annotation, boolean onLine) {
+			super(config, field, annotation, onLine);
 		}
 
 		@Override
@@ -200,8 +200,8 @@ public abstract class ConfigPropertyMeta {
 			return result;
 		}
 
-		protected MultipleValues(Configuration config, Field field, ConfigProperty annotation) {
-			super(config, field, annotation);
+		protected MultipleValues(Configuration config, Field field, ConfigProperty annotation, boolean onLine) {
+			super(config, field, annotation, onLine);
 		}
 
 		@Override
@@ -249,10 +249,15 @@ public abstract class ConfigPropertyMeta {
 	}
 
 	public static ConfigPropertyMeta createMetaForField(Configuration config, Field field) {
-		ConfigProperty annotation = field.getAnnotation(ConfigProperty.class);
+		return createMetaForField(config, field, new AnnotationMap(field.getAnnotations()));
+	}
+
+	public static ConfigPropertyMeta createMetaForField(Configuration config, Field field, AnnotationMap annotations) {
+		ConfigProperty annotation = annotations.get(ConfigProperty.class);
 		if (annotation == null) return null;
+		final boolean onLine = annotations.get(OnLineModifiable.class) != null;
 		Class<?> fieldType = field.getType();
-		return fieldType.isArray()? new MultipleValues(config, field, annotation) : new SingleValue(config, field, annotation);
+		return fieldType.isArray()? new MultipleValues(config, field, annotation, onLine) : new SingleValue(config, field, annotation, onLine);
 	}
 
 }
@@ -4,6 +4,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.ScaledResolution;
 import openmods.sync.SyncableString;
+import openmods.utils.render.TextLayoutCache;
 
 import org.lwjgl.opengl.GL11;
 
@@ -12,8 +13,10 @@ public class GuiComponentLabel extends BaseComponent {
 	private String text;
 	private SyncableString textObj;
 	private float scale = 1f;
-	private String textDelta;
-	private String[] formattedText;
+	private String layoutText;
+	private int layoutWidth;
+	private int layoutGeneration;
+	private TextLayoutCache.Layout layout;
 	private int maxHeight, maxWidth;
 	private float additionalScale = 1.0f;
 	private int additionalLineHeight = 0;
@@ -39,35 +42,55 @@ public class GuiComponentLabel extends BaseComponent {
 	public GuiComponentLabel(int x, int y, int width, int height, String text) {
 		super(x, y);
 		this.text = text;
-		this.formattedText = new String[10];
 		setMaxHeight(height);
 		setMaxWidth(width);
 	}
 
-	@SuppressWarnings("unchecked")
-	private void compileFormattedText(FontRenderer fr) {
-		// if (textDelta != null && textDelta.equals(getText())) return;
-		textDelta = getText();
-		if (textDelta == null) return;
-		formattedText = (String[])fr.listFormattedStringToWidth(textDelta, getMaxWidth()).toArray(formattedText);
+	private static int cachedDisplayWidth = -1;
+	private static int cachedDisplayHeight = -1;
+	private static int cachedGuiScale = -1;
+	private static boolean cachedUnicode;
+	private static int cachedScaleFactor;
+
+	private static int getScaleFactor(Minecraft mc) {
+		final boolean unicode = mc.fontRenderer.getUnicodeFlag();
+		if (mc.displayWidth != cachedDisplayWidth || mc.displayHeight != cachedDisplayHeight || mc.gameSettings.guiScale != cachedGuiScale || unicode != cachedUnicode) {
+			ScaledResolution sr = new ScaledResolution(mc.gameSettings, mc.displayWidth, mc.displayHeight);
+			cachedScaleFactor = sr.getScaleFactor();
+			cachedDisplayWidth = mc.displayWidth;
+			cachedDisplayHeight = mc.displayHeight;
+			cachedGuiScale = mc.gameSettings.guiScale;
+			cachedUnicode = unicode;
+		}
+		return cachedScaleFactor;
+	}
+
+	private TextLayoutCache.Layout getLayout(FontRenderer fr) {
+		final String text = getText();
+		final int width = getMaxWidth();
+		final int generation = TextLayoutCache.getGeneration();
+		if (layout == null || width != layoutWidth || generation != layoutGeneration || !text.equals(layoutText)) {
+			layout = TextLayoutCache.getLayout(fr, text, width);
+			layoutText = text;
+			layoutWidth = width;
+			layoutGeneration = generation;
+		}
+		return layout;
 	}
 
 	@Override
 	public void render(Minecraft minecraft, int offsetX, int offsetY, int mouseX, int mouseY) {
 		super.render(minecraft, offsetX, offsetY, mouseX, mouseY);
-		Minecraft mc = Minecraft.getMinecraft();
-		ScaledResolution sr = new ScaledResolution(mc.gameSettings, mc.displayWidth, mc.displayHeight);
-		additionalScale = sr.getScaleFactor() % 2 == 1 && scale < 1f? 0.667f : 1f;
+		additionalScale = getScaleFactor(minecraft) % 2 == 1 && scale < 1f? 0.667f : 1f;
 		if (getMaxHeight() < minecraft.fontRenderer.FONT_HEIGHT) return;
 		if (getMaxWidth() < minecraft.fontRenderer.getCharWidth('m')) return;
 		GL11.glPushMatrix();
 		GL11.glTranslated(offsetX + x, offsetY + y, 1);
 		GL11.glScalef(scale * additionalScale, scale * additionalScale, scale * additionalScale);
-		compileFormattedText(minecraft.fontRenderer);
+		final TextLayoutCache.Layout layout = getLayout(minecraft.fontRenderer);
 		int offset = 0;
 		int lineCount = 0;
-		for (String s : formattedText) {
-			if (s == null) break;
+		for (String s : layout.lines) {
 			minecraft.fontRenderer.drawString(s, 0, offset, 4210752);
 			offset += getFontHeight();
 			if (++lineCount >= getMaxLines()) break;
@@ -76,28 +99,12 @@ public class GuiComponentLabel extends BaseComponent {
 	}
 
 	private int calculateHeight() {
-		FontRenderer fr = getFontRenderer();
-		compileFormattedText(fr);
-		int offset = 0;
-		int lineCount = 0;
-		for (String s : formattedText) {
-			if (s == null) break;
-			offset += getFontHeight();
-			if (++lineCount >= getMaxLines()) break;
-		}
-		return offset;
+		final int lines = getLayout(getFontRenderer()).lines.length;
+		return Math.min(lines, Math.max(getMaxLines(), 1)) * getFontHeight();
 	}
 
 	private int calculateWidth() {
-		FontRenderer fr = getFontRenderer();
-		compileFormattedText(fr);
-		float maxWidth = 0;
-		for (String s : formattedText) {
-			if (s == null) break;
-			float width = fr.getStringWidth(s);
-			if (width > maxWidth) maxWidth = width;
-		}
-		return (int)maxWidth;
+		return getLayout(getFontRenderer()).maxLineWidth;
 	}
 
 	public GuiComponentLabel setScale(float scale) {
@@ -6,6 +6,7 @@ import java.util.logging.Level;
 
 import openmods.OpenModsCorePlugin;
 import openmods.asm.StopTransforming;
+import openmods.asm.VisitorHelper;
 
 import org.objectweb.asm.*;
 import org.objectweb.asm.commons.Method;
@@ -147,6 +148,16 @@ public class IncludingClassVisitor extends ClassVisitor {
 
 	public static final String EXTENDABLE_MARKER = "openmods/include/IExtendable";
 
+	private static final byte[] EXTENDABLE_MARKER_BYTES = EXTENDABLE_MARKER.getBytes(Charsets.US_ASCII);
+
+	/**
+	 * Quick pre-check, done before creating any ASM objects. Classes
+	 * without marker interface name in constant pool are never transformed
+	 */
+	public static boolean mayBeExtendable(byte[] bytes) {
+		return VisitorHelper.containsString(bytes, EXTENDABLE_MARKER_BYTES);
+	}
+
 	public static final Type INCLUDE_INTERFACE = Type.getObjectType("openmods/include/IncludeInterface");
 
 	public static final Type INCLUDE_OVERRIDE = Type.getObjectType("openmods/include/IncludeOverride");
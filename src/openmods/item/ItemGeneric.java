@@ -1,5 +1,6 @@
 package openmods.item;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -23,6 +24,14 @@ public abstract class ItemGeneric extends Item {
 
 	protected Map<Integer, IMetaItem> metaitems = Maps.newHashMap();
 
+	/**
+	 * Copy of {@link #metaitems}, indexed directly by damage value, since
+	 * most lookups are done on render/tooltip paths. Only updated by
+	 * {@link #registerItem(int, IMetaItem)}, so lookups fall back to map on
+	 * miss
+	 */
+	private IMetaItem[] metaitemsById = new IMetaItem[0];
+
 	public ItemGeneric(int id) {
 		super(id);
 		setHasSubtypes(true);
@@ -32,6 +41,10 @@ public abstract class ItemGeneric extends Item {
 	public void registerItem(int id, IMetaItem item) {
 		IMetaItem prev = metaitems.put(id, item);
 		Preconditions.checkState(prev == null, "Config error: replacing meta item %s with %s", prev, item);
+		if (id >= 0) {
+			if (id >= metaitemsById.length) metaitemsById = Arrays.copyOf(metaitemsById, id + 1);
+			metaitemsById[id] = item;
+		}
 	}
 
 	public void initRecipes() {
@@ -98,6 +111,11 @@ public abstract class ItemGeneric extends Item {
 	}
 
 	public IMetaItem getMeta(int id) {
+		final IMetaItem[] items = metaitemsById;
+		if (id >= 0 && id < items.length) {
+			IMetaItem result = items[id];
+			if (result != null) return result;
+		}
 		return metaitems.get(id);
 	}
 
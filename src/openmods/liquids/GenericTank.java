@@ -9,6 +9,8 @@ import openmods.Log;
 import openmods.integration.Integration;
 import openmods.proxy.IOpenModsProxy;
 import openmods.sync.SyncableFlags;
+import openmods.tileentity.OpenTileEntity;
+import openmods.tileentity.TileTaskScheduler;
 import openmods.utils.BlockUtils;
 
 // TODO: Move the getTicks and other helpers to a generic helpers class (:
@@ -19,6 +21,8 @@ public class GenericTank extends FluidTank {
 
 	protected FluidStack[] acceptableFluids;
 
+	private TileTaskScheduler.Task refreshTask;
+
 	public GenericTank(int capacity, FluidStack... acceptableFluids) {
 		super(capacity);
 		this.acceptableFluids = acceptableFluids;
@@ -42,6 +46,30 @@ public class GenericTank extends FluidTank {
 		}
 	}
 
+	/**
+	 * Refresh surrounding tanks with tile scheduler, instead of doing it on
+	 * every 10th tick in {@link #autoOutputToSides} and
+	 * {@link #autoFillFromSides}. Should be called once tile is in world
+	 * (i.e. in {@link OpenTileEntity#initialize()}). If task is cancelled
+	 * (tile unloaded or task failed), tank goes back to refreshing every
+	 * 10th tick. Calling it again replaces previous task
+	 */
+	public void scheduleSurroundingTanksRefresh(final OpenTileEntity currentTile, int period, final SyncableFlags sides) {
+		if (currentTile.worldObj == null || currentTile.worldObj.isRemote) return;
+		if (refreshTask != null) refreshTask.cancel();
+		refreshSurroundingTanks(currentTile, sides);
+		refreshTask = currentTile.schedulePeriodicTask(period, new Runnable() {
+			@Override
+			public void run() {
+				refreshSurroundingTanks(currentTile, sides);
+			}
+		});
+	}
+
+	private boolean shouldRefresh(IOpenModsProxy proxy, TileEntity currentTile) {
+		return (refreshTask == null || refreshTask.isCancelled()) && proxy.getTicks(currentTile.worldObj) % 10 == 0;
+	}
+
 	public FluidStack drain(FluidStack resource, boolean doDrain) {
 		if (resource == null) { return null; }
 		if (this.fluid == null) { return null; }
@@ -57,21 +85,46 @@ public class GenericTank extends FluidTank {
 		return (double)getFluidAmount() / (double)getCapacity();
 	}
 
+	public boolean canAccept(FluidStack resource) {
+		if (resource == null) { return false; }
+		if (acceptableFluids.length == 0) { return true; }
+		for (FluidStack acceptableFluid : acceptableFluids) {
+			if (acceptableFluid.isFluidEqual(resource)) { return true; }
+		}
+		return false;
+	}
+
 	@Override
 	public int fill(FluidStack resource, boolean doFill) {
-		if (resource == null) { return 0; }
-		if (acceptableFluids.length == 0) { return super.fill(resource, doFill); }
-		for (FluidStack acceptableFluid : acceptableFluids) {
-			if (acceptableFluid.isFluidEqual(resource)) { return super.fill(resource, doFill); }
+		if (!canAccept(resource)) { return 0; }
+		return super.fill(resource, doFill);
+	}
+
+	/**
+	 * Replaces tank contents with given amount of fluid (type taken from
+	 * template). Used by {@link TankNetwork} to apply balanced levels
+	 * 
+	 * @return true if contents actually changed
+	 */
+	public boolean setContents(FluidStack template, int amount) {
+		if (amount <= 0 || template == null) {
+			if (fluid == null) return false;
+			fluid = null;
+			return true;
 		}
-		return 0;
+
+		if (fluid != null && fluid.amount == amount && fluid.isFluidEqual(template)) return false;
+		FluidStack newFluid = template.copy();
+		newFluid.amount = Math.min(amount, getCapacity());
+		fluid = newFluid;
+		return true;
 	}
 
 	public void autoOutputToSides(IOpenModsProxy proxy, int amountPerTick, TileEntity currentTile, SyncableFlags sides) {
 
 		if (currentTile.worldObj == null) return;
 		// every 10 ticks refresh the surrounding tanks
-		if (proxy.getTicks(currentTile.worldObj) % 10 == 0) {
+		if (shouldRefresh(proxy, currentTile)) {
 			refreshSurroundingTanks(currentTile, sides);
 		}
 
@@ -107,7 +160,7 @@ public class GenericTank extends FluidTank {
 	public void autoFillFromSides(IOpenModsProxy proxy, int amountPerTick, TileEntity currentTile, SyncableFlags sides) {
 
 		// every 10 ticks refresh the surrounding tanks
-		if (proxy.getTicks(currentTile.worldObj) % 10 == 0) {
+		if (shouldRefresh(proxy, currentTile)) {
 			refreshSurroundingTanks(currentTile, sides);
 		}
 
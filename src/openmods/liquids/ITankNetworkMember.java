@@ -0,0 +1,18 @@
+package openmods.liquids;
+
+import net.minecraftforge.common.ForgeDirection;
+
+/**
+ * Implemented by tile entities that want their tank balanced by
+ * {@link TankNetwork}
+ */
+public interface ITankNetworkMember {
+
+	public GenericTank getNetworkTank();
+
+	public boolean canConnectTank(ForgeDirection side);
+
+	public TankNetwork getTankNetwork();
+
+	public void setTankNetwork(TankNetwork network);
+}
@@ -0,0 +1,190 @@
+package openmods.liquids;
+
+import java.util.*;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeDirection;
+import net.minecraftforge.fluids.FluidStack;
+import openmods.proxy.IOpenModsProxy;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Group of connected tanks that are balanced together, in single pass.
+ * Members are discovered once and shared until any of them calls
+ * {@link #invalidate()} (i.e. on neighbour change or tile removal).
+ * 
+ * Typical usage in member tile:
+ * 
+ * <pre>
+ * if (network == null || !network.isValid()) network = TankNetwork.discover(this, period);
+ * network.update(OpenMods.proxy, worldObj);
+ * </pre>
+ */
+public class TankNetwork {
+
+	private final List<ITankNetworkMember> members;
+
+	private final int updatePeriod;
+
+	private long lastUpdate = -1;
+
+	private boolean valid = true;
+
+	private TankNetwork(List<ITankNetworkMember> members, int updatePeriod) {
+		this.members = members;
+		this.updatePeriod = updatePeriod;
+	}
+
+	public static TankNetwork discover(ITankNetworkMember start, int updatePeriod) {
+		Preconditions.checkArgument(start instanceof TileEntity, "Tank network member %s must be tile entity", start);
+		Preconditions.checkArgument(updatePeriod > 0, "Invalid update period: %s", updatePeriod);
+
+		List<ITankNetworkMember> members = Lists.newArrayList();
+		Set<TileEntity> visited = Sets.newHashSet();
+		Queue<TileEntity> queue = new ArrayDeque<TileEntity>();
+
+		TileEntity startTile = (TileEntity)start;
+		visited.add(startTile);
+		queue.add(startTile);
+
+		while (!queue.isEmpty()) {
+			TileEntity current = queue.poll();
+			ITankNetworkMember member = (ITankNetworkMember)current;
+			members.add(member);
+
+			World world = current.worldObj;
+			if (world == null) continue;
+
+			for (ForgeDirection side : ForgeDirection.VALID_DIRECTIONS) {
+				if (!member.canConnectTank(side)) continue;
+
+				int x = current.xCoord + side.offsetX;
+				int y = current.yCoord + side.offsetY;
+				int z = current.zCoord + side.offsetZ;
+				if (!world.blockExists(x, y, z)) continue;
+
+				TileEntity neighbour = world.getBlockTileEntity(x, y, z);
+				if (neighbour instanceof ITankNetworkMember
+						&& !neighbour.isInvalid()
+						&& !visited.contains(neighbour)
+						&& ((ITankNetworkMember)neighbour).canConnectTank(side.getOpposite())) {
+					visited.add(neighbour);
+					queue.add(neighbour);
+				}
+			}
+		}
+
+		TankNetwork network = new TankNetwork(members, updatePeriod);
+		for (ITankNetworkMember member : members) {
+			TankNetwork previous = member.getTankNetwork();
+			if (previous != null && previous != network) previous.invalidate();
+			member.setTankNetwork(network);
+		}
+		return network;
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+
+	public void invalidate() {
+		valid = false;
+	}
+
+	public int size() {
+		return members.size();
+	}
+
+	/**
+	 * Can be called by every member every tick - only first call in tick
+	 * (and only every updatePeriod ticks) will actually do work
+	 */
+	public void update(IOpenModsProxy proxy, World world) {
+		if (!valid || world == null || world.isRemote) return;
+
+		long ticks = proxy.getTicks(world);
+		if (ticks == lastUpdate) return;
+		lastUpdate = ticks;
+
+		if (ticks % updatePeriod == 0) balance();
+	}
+
+	private static boolean isLoaded(TileEntity tile) {
+		return !tile.isInvalid() && tile.worldObj != null && tile.worldObj.blockExists(tile.xCoord, tile.yCoord, tile.zCoord);
+	}
+
+	private static FluidStack selectNetworkFluid(List<GenericTank> tanks) {
+		FluidStack result = null;
+		for (GenericTank tank : tanks) {
+			FluidStack fluid = tank.getFluid();
+			if (fluid != null && (result == null || fluid.amount > result.amount)) result = fluid;
+		}
+		return result;
+	}
+
+	/**
+	 * Distributes all fluid in network proportionally to tank capacities.
+	 * Tanks containing different fluid (or not accepting network fluid) are
+	 * skipped, as are members that were removed or are in unloaded chunks.
+	 * Only tanks with changed contents are updated.
+	 * 
+	 * @return number of modified tanks
+	 */
+	public int balance() {
+		if (members.size() < 2) return 0;
+
+		List<GenericTank> tanks = Lists.newArrayListWithCapacity(members.size());
+		for (ITankNetworkMember member : members) {
+			if (!isLoaded((TileEntity)member)) continue;
+			GenericTank tank = member.getNetworkTank();
+			if (tank != null) tanks.add(tank);
+		}
+
+		final FluidStack networkFluid = selectNetworkFluid(tanks);
+		if (networkFluid == null) return 0;
+		final FluidStack template = networkFluid.copy();
+
+		long totalAmount = 0;
+		long totalCapacity = 0;
+		Iterator<GenericTank> it = tanks.iterator();
+		while (it.hasNext()) {
+			GenericTank tank = it.next();
+			FluidStack fluid = tank.getFluid();
+			if (fluid == null ? tank.canAccept(template) : fluid.isFluidEqual(template)) {
+				totalAmount += tank.getFluidAmount();
+				totalCapacity += tank.getCapacity();
+			} else {
+				it.remove();
+			}
+		}
+
+		if (totalCapacity <= 0) return 0;
+
+		final int count = tanks.size();
+		final int[] amounts = new int[count];
+		long remainder = totalAmount;
+		for (int i = 0; i < count; i++) {
+			int amount = (int)(totalAmount * tanks.get(i).getCapacity() / totalCapacity);
+			amounts[i] = amount;
+			remainder -= amount;
+		}
+
+		// rounding leftovers, at most one unit per tank
+		for (int i = 0; i < count && remainder > 0; i++) {
+			if (amounts[i] < tanks.get(i).getCapacity()) {
+				amounts[i]++;
+				remainder--;
+			}
+		}
+
+		int modified = 0;
+		for (int i = 0; i < count; i++)
+			if (tanks.get(i).setContents(template, amounts[i])) modified++;
+
+		return modified;
+	}
+}
@@ -0,0 +1,159 @@
+package openmods.network;
+
+import java.util.*;
+
+import net.minecraft.command.ICommand;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.ChatMessageComponent;
+import openmods.network.NetworkMetrics.Category;
+import openmods.network.NetworkMetrics.Snapshot;
+
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Longs;
+
+public class CommandNetworkMetrics implements ICommand {
+
+	private static final String COMMAND_SHOW = "show";
+	private static final String COMMAND_RESET = "reset";
+
+	private static final int DEFAULT_LIMIT = 10;
+
+	private static final Comparator<Map.Entry<String, Snapshot>> BY_TOTAL_BYTES = new Comparator<Map.Entry<String, Snapshot>>() {
+		@Override
+		public int compare(Map.Entry<String, Snapshot> o1, Map.Entry<String, Snapshot> o2) {
+			return Longs.compare(o2.getValue().totalBytes(), o1.getValue().totalBytes());
+		}
+	};
+
+	private final String name;
+
+	public CommandNetworkMetrics(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public int compareTo(Object o) {
+		return name.compareTo(((ICommand)o).getCommandName());
+	}
+
+	@Override
+	public String getCommandName() {
+		return name;
+	}
+
+	@Override
+	public String getCommandUsage(ICommandSender icommandsender) {
+		return name + " show <channel|event_type|sync_handler_type|sync_handler_class> [limit] OR\n" +
+				name + " reset";
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List getCommandAliases() {
+		return null;
+	}
+
+	private static void respond(ICommandSender sender, String format) {
+		sender.sendChatToPlayer(ChatMessageComponent.createFromTranslationKey(format));
+	}
+
+	private static void respond(ICommandSender sender, String format, Object... args) {
+		sender.sendChatToPlayer(ChatMessageComponent.createFromTranslationWithSubstitutions(format, args));
+	}
+
+	private static Category parseCategory(String value) {
+		try {
+			return Category.valueOf(value.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void processCommand(ICommandSender sender, String[] args) {
+		if (args.length < 1) {
+			respond(sender, "openmodslib.command.no_enough_args");
+			return;
+		}
+
+		final String command = args[0];
+
+		if (COMMAND_RESET.equals(command)) {
+			NetworkMetrics.reset();
+			respond(sender, "openmodslib.command.metrics_reset");
+			return;
+		}
+
+		if (!COMMAND_SHOW.equals(command)) {
+			respond(sender, "openmodslib.command.invalid_command", command);
+			return;
+		}
+
+		if (args.length < 2) {
+			respond(sender, "openmodslib.command.no_enough_args");
+			return;
+		}
+
+		final Category category = parseCategory(args[1]);
+		if (category == null) {
+			respond(sender, "openmodslib.command.unknown_category", args[1]);
+			return;
+		}
+
+		int limit = DEFAULT_LIMIT;
+		if (args.length > 2) {
+			try {
+				limit = Integer.parseInt(args[2]);
+			} catch (NumberFormatException e) {
+				limit = 0;
+			}
+
+			if (limit < 1) {
+				respond(sender, "openmodslib.command.invalid_type", args[2], "positive integer");
+				return;
+			}
+		}
+
+		List<Map.Entry<String, Snapshot>> entries = Lists.newArrayList(NetworkMetrics.snapshot(category).entrySet());
+		Collections.sort(entries, BY_TOTAL_BYTES);
+
+		for (Map.Entry<String, Snapshot> e : entries.subList(0, Math.min(limit, entries.size())))
+			respond(sender, "%s: %s", e.getKey(), e.getValue().toString());
+	}
+
+	@Override
+	public boolean canCommandSenderUseCommand(ICommandSender sender) {
+		return sender.canCommandSenderUseCommand(4, name);
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+		if (args.length == 1) return filterPrefixes(args[0], Arrays.asList(COMMAND_SHOW, COMMAND_RESET));
+
+		if (args.length == 2 && COMMAND_SHOW.equals(args[0])) {
+			List<String> categories = Lists.newArrayList();
+			for (Category c : Category.values())
+				categories.add(c.name().toLowerCase());
+			return filterPrefixes(args[1], categories);
+		}
+
+		return null;
+	}
+
+	private static List<String> filterPrefixes(String prefix, Collection<String> proposals) {
+		prefix = prefix.toLowerCase();
+
+		List<String> result = Lists.newArrayList();
+		for (String s : proposals)
+			if (s.startsWith(prefix)) result.add(s);
+
+		return result;
+	}
+
+	@Override
+	public boolean isUsernameIndex(String[] astring, int i) {
+		return false;
+	}
+
+}
@@ -9,7 +9,7 @@ import java.util.List;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.INetworkManager;
-import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.Packet250CustomPayload;
 import net.minecraftforge.event.Event;
 import openmods.Log;
 import openmods.OpenMods;
@@ -74,8 +74,11 @@ public abstract class EventPacket extends Event {
 	public void reply(EventPacket reply) {
 		boolean isRemote = !(player instanceof EntityPlayerMP);
 		if (!getType().getDirection().validateSend(isRemote)) {
-			for (Packet packet : EventPacketManager.serializeEvent(reply))
+			final IEventPacketType type = reply.getType();
+			for (Packet250CustomPayload packet : EventPacketManager.serializeEvent(reply)) {
+				EventPacketManager.recordSent(type, packet);
 				manager.addToSendQueue(packet);
+			}
 		}
 		else Log.warn("Invalid sent direction for packet '%s'", this);
 	}
@@ -98,8 +101,11 @@ public abstract class EventPacket extends Event {
 
 	public void sendToPlayer(Player player) {
 		if (checkSendToClient()) {
-			for (Packet packet : EventPacketManager.serializeEvent(this))
+			final IEventPacketType type = getType();
+			for (Packet250CustomPayload packet : EventPacketManager.serializeEvent(this)) {
+				EventPacketManager.recordSent(type, packet);
 				OpenMods.proxy.sendPacketToPlayer(player, packet);
+			}
 		}
 	}
 
@@ -109,16 +115,22 @@ public abstract class EventPacket extends Event {
 
 	public void sendToPlayers(Collection<EntityPlayer> players) {
 		if (checkSendToClient()) {
-			for (Packet packet : EventPacketManager.serializeEvent(this))
-				for (EntityPlayer player : players)
+			final IEventPacketType type = getType();
+			for (Packet250CustomPayload packet : EventPacketManager.serializeEvent(this))
+				for (EntityPlayer player : players) {
+					EventPacketManager.recordSent(type, packet);
 					OpenMods.proxy.sendPacketToPlayer((Player)player, packet);
+				}
 		}
 	}
 
 	public void sendToServer() {
 		if (checkSendToServer()) {
-			for (Packet packet : EventPacketManager.serializeEvent(this))
+			final IEventPacketType type = getType();
+			for (Packet250CustomPayload packet : EventPacketManager.serializeEvent(this)) {
+				EventPacketManager.recordSent(type, packet);
 				OpenMods.proxy.sendPacketToServer(packet);
+			}
 		}
 	}
 }
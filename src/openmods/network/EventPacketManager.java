@@ -9,7 +9,6 @@ import java.util.zip.GZIPOutputStream;
 import net.minecraft.network.INetworkManager;
 import net.minecraft.network.packet.Packet250CustomPayload;
 import net.minecraftforge.common.MinecraftForge;
-import openmods.LibConfig;
 import openmods.utils.ByteUtils;
 import openmods.utils.io.PacketChunker;
 
@@ -46,12 +45,13 @@ public class EventPacketManager {
 		try {
 			InputStream input = new ByteArrayInputStream(packet.data);
 			final IEventPacketType type = readType(input);
+			NetworkMetrics.recordEvent(type, packet, true);
 
 			if (type.isChunked()) {
 				byte[] payload = IOUtils.toByteArray(input);
 				byte[] fullPayload = CHUNKER.consumeChunk(payload);
 				if (fullPayload == null) {
-					if (LibConfig.logPackets) PacketLogger.log(packet, true, createUnfinishedLogInfo(type, player));
+					if (PacketLogger.shouldLog()) PacketLogger.log(packet, true, createUnfinishedLogInfo(type, player));
 					return null;
 				}
 				input = new ByteArrayInputStream(fullPayload);
@@ -68,7 +68,7 @@ public class EventPacketManager {
 			event.manager = manager;
 			event.player = player;
 
-			if (LibConfig.logPackets) PacketLogger.log(packet, true, createLogInfo(event, 0, 0));
+			if (PacketLogger.shouldLog()) PacketLogger.log(packet, true, createLogInfo(event, 0, 0));
 			return event;
 		} catch (Exception e) {
 			throw Throwables.propagate(e);
@@ -112,13 +112,13 @@ public class EventPacketManager {
 				byte[][] chunked = CHUNKER.splitIntoChunks(bytes);
 				for (int chunkIndex = 0; chunkIndex < chunked.length; chunkIndex++) {
 					Packet250CustomPayload result = createEventPacket(type, chunked[chunkIndex]);
-					if (LibConfig.logPackets) PacketLogger.log(result, false, createLogInfo(event, chunkIndex + 1, chunked.length));
+					if (PacketLogger.shouldLog()) PacketLogger.log(result, false, createLogInfo(event, chunkIndex + 1, chunked.length));
 					builder.add(result);
 				}
 				return builder.build();
 			} else {
 				Packet250CustomPayload result = createEventPacket(type, bytes);
-				if (LibConfig.logPackets) PacketLogger.log(result, false, createLogInfo(event, 0, 0));
+				if (PacketLogger.shouldLog()) PacketLogger.log(result, false, createLogInfo(event, 0, 0));
 				return ImmutableList.of(result);
 			}
 		} catch (Exception e) {
@@ -126,6 +126,11 @@ public class EventPacketManager {
 		}
 	}
 
+	static void recordSent(IEventPacketType type, Packet250CustomPayload packet) {
+		NetworkMetrics.recordChannel(packet, false);
+		NetworkMetrics.recordEvent(type, packet, false);
+	}
+
 	private static List<String> createLogInfo(EventPacket event, int chunkId, int chunkLength) {
 		List<String> info = Lists.newArrayList();
 		info.add(String.format("%d/%d", chunkId, chunkLength));
@@ -0,0 +1,132 @@
+package openmods.network;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minecraft.network.packet.Packet250CustomPayload;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Always-on packet and byte counters for OpenMods channels. Updates are
+ * lock-free (only map insert on first use of key), snapshots are copied
+ * on request.
+ * 
+ * Every packet is counted once per connection it travels through: incoming
+ * packets once on receive ({@link Category#CHANNEL} in
+ * {@link PacketHandler}, other categories in channel handlers), outgoing
+ * ones once per recipient, when they are sent. Packet shared by many
+ * players is counted many times, so totals match actual traffic.
+ */
+public class NetworkMetrics {
+
+	public enum Category {
+		CHANNEL,
+		EVENT_TYPE,
+		SYNC_HANDLER_TYPE,
+		SYNC_HANDLER_CLASS;
+
+		private static final Category[] VALUES = values();
+	}
+
+	public static class Counter {
+		private final AtomicLong incomingPackets = new AtomicLong();
+		private final AtomicLong incomingBytes = new AtomicLong();
+		private final AtomicLong outgoingPackets = new AtomicLong();
+		private final AtomicLong outgoingBytes = new AtomicLong();
+
+		private void add(boolean incoming, int bytes) {
+			if (incoming) {
+				incomingPackets.incrementAndGet();
+				incomingBytes.addAndGet(bytes);
+			} else {
+				outgoingPackets.incrementAndGet();
+				outgoingBytes.addAndGet(bytes);
+			}
+		}
+
+		public Snapshot snapshot() {
+			return new Snapshot(incomingPackets.get(), incomingBytes.get(), outgoingPackets.get(), outgoingBytes.get());
+		}
+	}
+
+	public static class Snapshot {
+		public final long incomingPackets;
+		public final long incomingBytes;
+		public final long outgoingPackets;
+		public final long outgoingBytes;
+
+		private Snapshot(long incomingPackets, long incomingBytes, long outgoingPackets, long outgoingBytes) {
+			this.incomingPackets = incomingPackets;
+			this.incomingBytes = incomingBytes;
+			this.outgoingPackets = outgoingPackets;
+			this.outgoingBytes = outgoingBytes;
+		}
+
+		public long totalBytes() {
+			return incomingBytes + outgoingBytes;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("in: %d (%d B), out: %d (%d B)", incomingPackets, incomingBytes, outgoingPackets, outgoingBytes);
+		}
+	}
+
+	private static final Map<Category, ConcurrentMap<String, Counter>> counters = Maps.newEnumMap(Category.class);
+
+	static {
+		for (Category category : Category.VALUES)
+			counters.put(category, Maps.<String, Counter> newConcurrentMap());
+	}
+
+	private static Counter getCounter(Category category, String key) {
+		ConcurrentMap<String, Counter> map = counters.get(category);
+		Counter result = map.get(key);
+		if (result == null) {
+			Counter newCounter = new Counter();
+			result = map.putIfAbsent(key, newCounter);
+			if (result == null) result = newCounter;
+		}
+		return result;
+	}
+
+	public static void record(Category category, String key, boolean incoming, int bytes) {
+		getCounter(category, key).add(incoming, bytes);
+	}
+
+	public static void recordChannel(Packet250CustomPayload packet, boolean incoming) {
+		record(Category.CHANNEL, packet.channel, incoming, packet.data.length);
+	}
+
+	public static void recordEvent(IEventPacketType type, Packet250CustomPayload packet, boolean incoming) {
+		record(Category.EVENT_TYPE, type.toString(), incoming, packet.data.length);
+	}
+
+	public static void recordSync(Enum<?> handlerType, Class<?> handlerClass, Packet250CustomPayload packet, boolean incoming) {
+		final int length = packet.data.length;
+		record(Category.SYNC_HANDLER_TYPE, handlerType.name(), incoming, length);
+		record(Category.SYNC_HANDLER_CLASS, handlerClass.getName(), incoming, length);
+	}
+
+	public static Map<String, Snapshot> snapshot(Category category) {
+		ImmutableMap.Builder<String, Snapshot> result = ImmutableMap.builder();
+		for (Map.Entry<String, Counter> e : counters.get(category).entrySet())
+			result.put(e.getKey(), e.getValue().snapshot());
+		return result.build();
+	}
+
+	public static Map<Category, Map<String, Snapshot>> snapshot() {
+		Map<Category, Map<String, Snapshot>> result = Maps.newEnumMap(Category.class);
+		for (Category category : Category.VALUES)
+			result.put(category, snapshot(category));
+		return result;
+	}
+
+	public static void reset() {
+		for (ConcurrentMap<String, Counter> map : counters.values())
+			map.clear();
+	}
+}
@@ -31,6 +31,8 @@ public class PacketHandler implements IPacketHandler {
 	@Override
 	public void onPacketData(INetworkManager manager, Packet250CustomPayload packet, Player player) {
 
+		NetworkMetrics.recordChannel(packet, true);
+
 		try {
 			if (packet.channel.equals(CHANNEL_SYNC)) {
 				OpenMods.syncableManager.handlePacket(packet);
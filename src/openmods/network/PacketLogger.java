@@ -7,29 +7,125 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.*;
 
 import net.minecraft.network.packet.Packet250CustomPayload;
+import openmods.LibConfig;
+import openmods.Log;
 import openmods.OpenMods;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 
+/**
+ * Packet log entries are only captured on calling (network/game) thread.
+ * Formatting and file output is done on separate writer thread. If writer
+ * can't keep up, entries are dropped (and number of dropped entries is
+ * logged).
+ */
 public class PacketLogger {
+
+	private static final int QUEUE_SIZE = 4096;
+
+	private static class Entry {
+		public final long timestamp = System.currentTimeMillis();
+		public final String channel;
+		public final boolean serverThread;
+		public final boolean incoming;
+		public final int length;
+		public final List<String> extras;
+
+		private Entry(Packet250CustomPayload packet, boolean serverThread, boolean incoming, List<String> extras) {
+			this.channel = packet.channel;
+			this.length = packet.data.length;
+			this.serverThread = serverThread;
+			this.incoming = incoming;
+			this.extras = extras;
+		}
+	}
+
+	private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<Entry>(QUEUE_SIZE);
+
+	private static final AtomicInteger droppedEntries = new AtomicInteger();
+
+	private static final AtomicInteger sampleCounter = new AtomicInteger();
+
+	private static volatile Thread writerThread;
+
+	private static volatile boolean writerFailed;
+
+	/**
+	 * Must be checked once per packet, before building log info - it also
+	 * decides which packets are skipped by sampling
+	 */
+	public static boolean shouldLog() {
+		if (!LibConfig.logPackets || writerFailed) return false;
+		final int sampling = LibConfig.logPacketsSampling;
+		return sampling <= 1 || sampleCounter.incrementAndGet() % sampling == 0;
+	}
+
 	public static void log(Packet250CustomPayload packet, boolean incoming, String... extras) {
 		log(packet, incoming, Arrays.asList(extras));
 	}
 
 	public static void log(Packet250CustomPayload packet, boolean incoming, List<String> extras) {
-		List<String> fields = Lists.newArrayList();
-		fields.add(packet.channel);
-		fields.add(OpenMods.proxy.isServerThread()? "server" : "client");
-		fields.add(incoming? "incoming" : "outgoing");
-		fields.add(Integer.toString(packet.data.length));
-		fields.addAll(extras);
-		String extra = Joiner.on('\t').join(fields);
-		getDebugLog().info(extra);
+		if (writerFailed) return;
+
+		if (writerThread == null) startWriter();
+		Entry entry = new Entry(packet, OpenMods.proxy.isServerThread(), incoming, extras);
+		if (!queue.offer(entry)) droppedEntries.incrementAndGet();
+	}
+
+	private static synchronized void startWriter() {
+		if (writerThread != null) return;
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				writeEntries();
+			}
+		}, "OpenMods packet logger");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	private static void writeEntries() {
+		final Logger log;
+		try {
+			log = getDebugLog();
+		} catch (Throwable t) {
+			Log.warn(t, "Failed to open packet log, packet logging disabled");
+			writerFailed = true;
+			queue.clear();
+			return;
+		}
+
+		final Joiner joiner = Joiner.on('\t');
+		try {
+			while (true) {
+				Entry entry = queue.take();
+
+				int dropped = droppedEntries.getAndSet(0);
+				if (dropped > 0) log.warning(String.format("Packet log queue full, dropped %d entries", dropped));
+
+				List<String> fields = Lists.newArrayList();
+				fields.add(entry.channel);
+				fields.add(entry.serverThread? "server" : "client");
+				fields.add(entry.incoming? "incoming" : "outgoing");
+				fields.add(Integer.toString(entry.length));
+				fields.addAll(entry.extras);
+				String line = joiner.join(fields);
+
+				LogRecord record = new LogRecord(Level.INFO, line);
+				record.setMillis(entry.timestamp);
+				log.log(record);
+			}
+		} catch (InterruptedException e) {
+			Log.warn(e, "Packet logger thread interrupted");
+		}
 	}
 
 	private static Logger debugLog;
@@ -37,7 +133,9 @@ public class PacketLogger {
 	private static class PacketLogFormatter extends Formatter {
 
 		private static final String LINE_SEPARATOR = System.getProperty("line.separator");
-		private static final DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS");
+
+		// only used from writer thread
+		private final DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSSSSS");
 
 		@Override
 		public String format(LogRecord record) {
@@ -3,6 +3,9 @@ package openmods.network.events;
 import net.minecraftforge.event.ForgeSubscribe;
 import openmods.Log;
 import openmods.tileentity.OpenTileEntity;
+import openmods.tileentity.OpenTileEntity.WakeCondition;
+import openmods.tileentity.TileProfiler;
+import openmods.tileentity.TileProfiler.Operation;
 
 public class TileEntityEventHandler {
 
@@ -10,7 +13,10 @@ public class TileEntityEventHandler {
 	public void onTileEntityEvent(TileEntityMessageEventPacket event) {
 		OpenTileEntity tile = event.getTileEntity();
 		if (tile != null) {
+			tile.wakeUp(WakeCondition.EVENT);
+			final long start = TileProfiler.start();
 			tile.onEvent(event);
+			if (start != 0) TileProfiler.record(tile, Operation.EVENT, start);
 		} else {
 			Log.warn("Received packet for invalid te @ (%d,%d,%d)", event.xCoord, event.yCoord, event.zCoord);
 		}
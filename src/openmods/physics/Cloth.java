@@ -1,79 +1,307 @@
 package openmods.physics;
 
 import java.util.List;
+import java.util.concurrent.*;
 
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+
+/**
+ * Verlet cloth simulation. Point state is kept in flat arrays (three
+ * coordinates per point, row-major), so update does not allocate.
+ * Constraints are sorted into four groups (horizontal/vertical, even/odd),
+ * and constraints in one group never share points, so each group may be
+ * relaxed in parallel.
+ */
 public class Cloth {
 
-	private List<Constraint> constraints;
-	public Point[][] points;
-	private double max_dim, spacing;
-	private int num_x_points, num_y_points, n_constraints;
+	private static final int DEFAULT_ITERATIONS = 2;
+
+	private static final double GRAVITY = -0.5 * 0.05 * 0.05;
+
+	private static final int COLORS = 4;
+
+	private final int numX, numY, numPoints;
+
+	private final double[] current;
+	private final double[] previous;
+	private final double[] invMass;
+
+	private final int[] constraintPoint1;
+	private final int[] constraintPoint2;
+	private final double[] constraintRestLengthSq;
+
+	// constraints of color c are in [colorStart[c], colorStart[c + 1])
+	private final int[] colorStart = new int[COLORS + 1];
+
+	private final PointGrid grid;
+
+	private boolean gridOutdated;
 
-	private static final int PHYSICS_ITERATIONS = 2;
+	private int iterations = DEFAULT_ITERATIONS;
+
+	private ExecutorService executor;
+
+	private List<List<Callable<Void>>> parallelBatches;
 
 	public Cloth(int density, double width, double height) {
-		this.max_dim = Math.max(width, height);
-		Math.min(width, height);
-		this.spacing = max_dim / density;
-		this.num_x_points = (int)((density * (width / max_dim)) + 0.5);
-		this.num_y_points = (int)((density * (height / max_dim)) + 0.5);
-
-		int i, j;
-		double x, y;
-		points = new Point[num_y_points][];
-		for (i = 0, y = 0; i < num_y_points; i++, y += spacing) {
-			points[i] = new Point[num_x_points];
-			for (j = 0, x = 0; j < num_x_points; j++, x += spacing) {
-				points[i][j] = new Point(x / width, y / height, 0);
-
-				if (i > 0) {
-					this.constraints.add(new Constraint(this.points[i - 1][j], this.points[i][j], Double.NaN));
-				}
-				if (j > 0) {
-					this.constraints.add(new Constraint(this.points[i][j - 1], this.points[i][j], Double.NaN));
+		final double maxDim = Math.max(width, height);
+		final double spacing = maxDim / density;
+		this.numX = (int)((density * (width / maxDim)) + 0.5);
+		this.numY = (int)((density * (height / maxDim)) + 0.5);
+		this.numPoints = numX * numY;
+
+		current = new double[3 * numPoints];
+		previous = new double[3 * numPoints];
+		invMass = new double[numPoints];
+
+		for (int i = 0; i < numY; i++) {
+			for (int j = 0; j < numX; j++) {
+				int p = 3 * index(i, j);
+				current[p] = previous[p] = j * spacing / width;
+				current[p + 1] = previous[p + 1] = i * spacing / height;
+				invMass[index(i, j)] = 1;
+			}
+		}
+
+		final int numConstraints = numY * Math.max(numX - 1, 0) + numX * Math.max(numY - 1, 0);
+		constraintPoint1 = new int[numConstraints];
+		constraintPoint2 = new int[numConstraints];
+		constraintRestLengthSq = new double[numConstraints];
+
+		int c = 0;
+		for (int color = 0; color < COLORS; color++) {
+			colorStart[color] = c;
+			final boolean horizontal = color < 2;
+			final int parity = color & 1;
+			for (int i = horizontal? 0 : 1 + parity; i < numY; i += horizontal? 1 : 2) {
+				for (int j = horizontal? 1 + parity : 0; j < numX; j += horizontal? 2 : 1) {
+					int p1 = horizontal? index(i, j - 1) : index(i - 1, j);
+					int p2 = index(i, j);
+					constraintPoint1[c] = p1;
+					constraintPoint2[c] = p2;
+					constraintRestLengthSq[c] = distanceSq(p1, p2);
+					c++;
 				}
 			}
 		}
+		colorStart[COLORS] = c;
+
+		if (numPoints > 0) {
+			invMass[index(0, 0)] = 0;
+			invMass[index(0, numX / 2)] = 0;
+			invMass[index(0, numX - 1)] = 0;
+		}
+
+		grid = new PointGrid(current, numPoints, Math.max(numX, numY));
+	}
+
+	private int index(int i, int j) {
+		return i * numX + j;
+	}
+
+	private double distanceSq(int p1, int p2) {
+		final int a = 3 * p1, b = 3 * p2;
+		final double dx = current[b] - current[a];
+		final double dy = current[b + 1] - current[a + 1];
+		final double dz = current[b + 2] - current[a + 2];
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	public int getNumX() {
+		return numX;
+	}
+
+	public int getNumY() {
+		return numY;
+	}
+
+	public int getNumPoints() {
+		return numPoints;
+	}
+
+	public double getX(int point) {
+		return current[3 * point];
+	}
+
+	public double getY(int point) {
+		return current[3 * point + 1];
+	}
+
+	public double getZ(int point) {
+		return current[3 * point + 2];
+	}
+
+	public FastVector getPosition(int point, FastVector result) {
+		final int p = 3 * point;
+		result.x = current[p];
+		result.y = current[p + 1];
+		result.z = current[p + 2];
+		return result;
+	}
+
+	/**
+	 * Moves point without giving it velocity (i.e. for dragging)
+	 */
+	public void setPosition(int point, double x, double y, double z) {
+		final int p = 3 * point;
+		current[p] = previous[p] = x;
+		current[p + 1] = previous[p + 1] = y;
+		current[p + 2] = previous[p + 2] = z;
+		gridOutdated = true;
+	}
+
+	public double getInverseMass(int point) {
+		return invMass[point];
+	}
+
+	/**
+	 * Zero pins point in place
+	 */
+	public void setInverseMass(int point, double value) {
+		invMass[point] = value;
+	}
+
+	public void setIterations(int iterations) {
+		Preconditions.checkArgument(iterations > 0, "Invalid iteration count: %s", iterations);
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Relaxes every constraint group in {@code batches} parallel tasks.
+	 * Only worth it for dense cloths. Pass null executor to go back to
+	 * single-threaded update
+	 */
+	public void setParallelExecutor(ExecutorService executor, int batches) {
+		this.executor = executor;
+		if (executor == null) {
+			parallelBatches = null;
+			return;
+		}
 
-		this.points[0][0].inv_mass = 0;
-		this.points[0][(num_x_points / 2)].inv_mass = 0;
-		this.points[0][num_x_points - 1].inv_mass = 0;
-		this.n_constraints = this.constraints.size();
+		Preconditions.checkArgument(batches > 0, "Invalid batch count: %s", batches);
+		parallelBatches = Lists.newArrayList();
+		for (int color = 0; color < COLORS; color++) {
+			List<Callable<Void>> tasks = Lists.newArrayList();
+			final int start = colorStart[color];
+			final int count = colorStart[color + 1] - start;
+			for (int b = 0; b < batches; b++) {
+				final int from = start + (int)((long)count * b / batches);
+				final int to = start + (int)((long)count * (b + 1) / batches);
+				if (from < to) tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() {
+						relaxConstraints(from, to);
+						return null;
+					}
+				});
+			}
+			parallelBatches.add(tasks);
+		}
 	}
 
 	public void update() {
-		int num_x = this.num_x_points, num_y = this.num_y_points, num_c = this.n_constraints, num_i = PHYSICS_ITERATIONS, i, j;
+		updatePoints();
 
-		// Apply force ( Gravity )
-		for (i = 0; i < num_y; i++) {
-			for (j = 0; j < num_x; j++) {
-				this.points[i][j].update();
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			if (parallelBatches != null) {
+				for (List<Callable<Void>> tasks : parallelBatches)
+					runBatches(tasks);
+			} else {
+				relaxConstraints(0, colorStart[COLORS]);
 			}
 		}
 
-		// Update constraints
-		for (j = 0; j < num_i; j++) {
-			for (i = 0; i < num_c; i++) {
-				this.constraints.get(i).update();
+		gridOutdated = true;
+	}
+
+	private void runBatches(List<Callable<Void>> tasks) {
+		try {
+			for (Future<Void> f : executor.invokeAll(tasks))
+				f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+
+	private void updatePoints() {
+		for (int i = 0; i < numPoints; i++) {
+			if (invMass[i] == 0) continue;
+			final int p = 3 * i;
+			for (int k = 0; k < 3; k++) {
+				double pos = current[p + k] * 1.99 - previous[p + k] * 0.99;
+				if (k == 1) pos += GRAVITY;
+				previous[p + k] = current[p + k];
+				current[p + k] = (pos < 0)? 0 : ((pos > 1)? 1 : pos);
 			}
 		}
 	}
 
-	public Point getClosestPoint(FastVector pos) {
-		int num_x = this.num_x_points, num_y = this.num_y_points, i, j;
-		double dist, min_dist = 1;
-		Point min_point = null;
+	private void relaxConstraints(int from, int to) {
+		for (int c = from; c < to; c++) {
+			final int p1 = constraintPoint1[c];
+			final int p2 = constraintPoint2[c];
+			final double im1 = invMass[p1];
+			final double im2 = invMass[p2];
+			if (im1 + im2 == 0) continue;
 
-		for (i = 0; i < num_y; i++) {
-			for (j = 0; j < num_x; j++) {
-				dist = pos.subtract(this.points[i][j].getCurrent()).length();
+			final int a = 3 * p1, b = 3 * p2;
+			final double dx = current[b] - current[a];
+			final double dy = current[b + 1] - current[a + 1];
+			final double dz = current[b + 2] - current[a + 2];
+			final double d = dx * dx + dy * dy + dz * dz;
+			final double restSq = constraintRestLengthSq[c];
 
-				if (dist < min_dist) {
-					min_dist = dist;
-					min_point = this.points[i][j];
-				}
+			final double diff = (d - restSq) / ((restSq + d) * (im1 + im2));
+
+			if (im1 != 0) {
+				final double k = im1 * diff;
+				current[a] += dx * k;
+				current[a + 1] += dy * k;
+				current[a + 2] += dz * k;
+			}
+
+			if (im2 != 0) {
+				final double k = im2 * diff;
+				current[b] -= dx * k;
+				current[b + 1] -= dy * k;
+				current[b + 2] -= dz * k;
 			}
 		}
-		return min_point;
+	}
+
+	private PointGrid getGrid() {
+		if (gridOutdated) {
+			grid.update();
+			gridOutdated = false;
+		}
+		return grid;
+	}
+
+	/**
+	 * @return index of closest point closer than 1, or -1 if none
+	 */
+	public int getClosestPoint(FastVector pos) {
+		return getClosestPoint(pos, 1);
+	}
+
+	/**
+	 * @return index of closest point not further than {@code maxDistance},
+	 *         or -1 if none
+	 */
+	public int getClosestPoint(FastVector pos, double maxDistance) {
+		return getGrid().findClosest(pos.x, pos.y, pos.z, maxDistance);
+	}
+
+	/**
+	 * Writes indices of points in radius to {@code result}, up to its length
+	 *
+	 * @return number of found points (may be larger than array length)
+	 */
+	public int getPointsInRadius(FastVector pos, double radius, int[] result) {
+		return getGrid().findInRadius(pos.x, pos.y, pos.z, radius, result);
 	}
 }
@@ -10,6 +10,41 @@ public class FastVector {
 		this.z = z;
 	}
 
+	public FastVector() {}
+
+	public FastVector(FastVector other) {
+		this(other.x, other.y, other.z);
+	}
+
+	public FastVector set(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	public FastVector set(FastVector other) {
+		return set(other.x, other.y, other.z);
+	}
+
+	/**
+	 * Reads vector from array at index {@code 3 * index}
+	 */
+	public FastVector load(double[] array, int index) {
+		final int i = 3 * index;
+		return set(array[i], array[i + 1], array[i + 2]);
+	}
+
+	/**
+	 * Writes vector to array at index {@code 3 * index}
+	 */
+	public void store(double[] array, int index) {
+		final int i = 3 * index;
+		array[i] = x;
+		array[i + 1] = y;
+		array[i + 2] = z;
+	}
+
 	public FastVector add(double n) {
 		return new FastVector(x + n, y + n, z + n);
 	}
@@ -33,7 +68,17 @@ public class FastVector {
 	}
 
 	public double dot(FastVector b) {
-		return ((this.x * b.x) + (this.y * b.y));
+		return ((this.x * b.x) + (this.y * b.y) + (this.z * b.z));
+	}
+
+	public FastVector cross(FastVector b) {
+		return new FastVector(this)._cross(b);
+	}
+
+	public FastVector _cross(FastVector b) {
+		return set(this.y * b.z - this.z * b.y,
+				this.z * b.x - this.x * b.z,
+				this.x * b.y - this.y * b.x);
 	}
 
 	public double length() {
@@ -63,11 +108,50 @@ public class FastVector {
 	}
 
 	public double squaredLength() {
-		return (this.x * this.x) + (this.y * this.y);
+		return (this.x * this.x) + (this.y * this.y) + (this.z * this.z);
+	}
+
+	public double squaredDistance(FastVector b) {
+		final double dx = this.x - b.x;
+		final double dy = this.y - b.y;
+		final double dz = this.z - b.z;
+		return (dx * dx) + (dy * dy) + (dz * dz);
+	}
+
+	public double distance(FastVector b) {
+		return Math.sqrt(squaredDistance(b));
+	}
+
+	/**
+	 * Zero vector is left unchanged
+	 */
+	public FastVector _normalize() {
+		final double length = length();
+		return (length > 0)? _multiply(1 / length) : this;
+	}
+
+	/**
+	 * this += b * n
+	 */
+	public FastVector _addScaled(FastVector b, double n) {
+		this.x += b.x * n;
+		this.y += b.y * n;
+		this.z += b.z * n;
+		return this;
+	}
+
+	/**
+	 * this += (b - this) * t
+	 */
+	public FastVector _lerp(FastVector b, double t) {
+		this.x += (b.x - this.x) * t;
+		this.y += (b.y - this.y) * t;
+		this.z += (b.z - this.z) * t;
+		return this;
 	}
 
 	public double sum() {
-		return this.x + this.y;
+		return this.x + this.y + this.z;
 	}
 
 	public FastVector subtract(double n) {
@@ -92,6 +176,22 @@ public class FastVector {
 		return this;
 	}
 
+	/**
+	 * result[i] += a[i] * n, for flat arrays of vector components
+	 */
+	public static void addScaled(double[] result, double[] a, double n, int count) {
+		for (int i = 0; i < count; i++)
+			result[i] += a[i] * n;
+	}
+
+	/**
+	 * Sets all vectors in flat array ({@code x, y, z} triples) to same value
+	 */
+	public static void fill(double[] array, int vectors, FastVector value) {
+		for (int i = 0; i < vectors; i++)
+			value.store(array, i);
+	}
+
 	@Override
 	public String toString() {
 		return "[" + this.x + "," + this.y + "," + this.z + "]";
@@ -0,0 +1,144 @@
+package openmods.physics;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over XY plane of unit cube, with points stored in per-cell
+ * doubly linked lists (in arrays). After each update only points that
+ * changed cells are relinked. Queries don't allocate.
+ */
+class PointGrid {
+
+	private final double[] positions;
+
+	private final int resolution;
+
+	private final double cellSize;
+
+	private final int[] cellHead;
+
+	private final int[] next;
+
+	private final int[] prev;
+
+	private final int[] pointCell;
+
+	public PointGrid(double[] positions, int numPoints, int resolution) {
+		this.positions = positions;
+		this.resolution = Math.max(resolution, 1);
+		this.cellSize = 1.0 / this.resolution;
+		this.cellHead = new int[this.resolution * this.resolution];
+		this.next = new int[numPoints];
+		this.prev = new int[numPoints];
+		this.pointCell = new int[numPoints];
+
+		Arrays.fill(cellHead, -1);
+		for (int i = 0; i < numPoints; i++)
+			link(i, cellOf(i));
+	}
+
+	private int cellCoord(double v) {
+		int c = (int)(v * resolution);
+		return (c < 0)? 0 : ((c >= resolution)? resolution - 1 : c);
+	}
+
+	private int cellOf(int point) {
+		final int p = 3 * point;
+		return cellCoord(positions[p + 1]) * resolution + cellCoord(positions[p]);
+	}
+
+	private void link(int point, int cell) {
+		final int head = cellHead[cell];
+		next[point] = head;
+		prev[point] = -1;
+		if (head >= 0) prev[head] = point;
+		cellHead[cell] = point;
+		pointCell[point] = cell;
+	}
+
+	private void unlink(int point) {
+		final int n = next[point];
+		final int p = prev[point];
+		if (p >= 0) next[p] = n;
+		else cellHead[pointCell[point]] = n;
+		if (n >= 0) prev[n] = p;
+	}
+
+	public void update() {
+		for (int i = 0; i < pointCell.length; i++) {
+			final int cell = cellOf(i);
+			if (cell != pointCell[i]) {
+				unlink(i);
+				link(i, cell);
+			}
+		}
+	}
+
+	private double distanceSq(int point, double x, double y, double z) {
+		final int p = 3 * point;
+		final double dx = x - positions[p];
+		final double dy = y - positions[p + 1];
+		final double dz = z - positions[p + 2];
+		return dx * dx + dy * dy + dz * dz;
+	}
+
+	/**
+	 * @return index of closest point not further than {@code maxDistance},
+	 *         or -1 if none
+	 */
+	public int findClosest(double x, double y, double z, double maxDistance) {
+		final int cx = cellCoord(x);
+		final int cy = cellCoord(y);
+		double bestDistSq = maxDistance * maxDistance;
+		int best = -1;
+
+		for (int ring = 0; ring < resolution; ring++) {
+			// points in this ring are at least that far from query point
+			final double ringDistance = Math.max(ring - 1, 0) * cellSize;
+			if (ringDistance * ringDistance > bestDistSq) break;
+
+			for (int gy = cy - ring; gy <= cy + ring; gy++) {
+				if (gy < 0 || gy >= resolution) continue;
+				final boolean edgeRow = gy == cy - ring || gy == cy + ring;
+				final int step = edgeRow? 1 : 2 * ring;
+				for (int gx = cx - ring; gx <= cx + ring; gx += Math.max(step, 1)) {
+					if (gx < 0 || gx >= resolution) continue;
+					for (int point = cellHead[gy * resolution + gx]; point >= 0; point = next[point]) {
+						final double distSq = distanceSq(point, x, y, z);
+						if (distSq < bestDistSq) {
+							bestDistSq = distSq;
+							best = point;
+						}
+					}
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Writes indices of points in sphere to {@code result}, up to its length
+	 *
+	 * @return number of found points (may be larger than array length)
+	 */
+	public int findInRadius(double x, double y, double z, double radius, int[] result) {
+		final int minX = cellCoord(x - radius), maxX = cellCoord(x + radius);
+		final int minY = cellCoord(y - radius), maxY = cellCoord(y + radius);
+		final double radiusSq = radius * radius;
+
+		int count = 0;
+		for (int gy = minY; gy <= maxY; gy++) {
+			for (int gx = minX; gx <= maxX; gx++) {
+				for (int point = cellHead[gy * resolution + gx]; point >= 0; point = next[point]) {
+					if (distanceSq(point, x, y, z) <= radiusSq) {
+						if (count < result.length) result[count] = point;
+						count++;
+					}
+				}
+			}
+		}
+
+		return count;
+	}
+}
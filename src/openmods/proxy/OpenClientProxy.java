@@ -5,6 +5,9 @@ import java.io.File;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityClientPlayerMP;
 import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraft.client.resources.ReloadableResourceManager;
+import net.minecraft.client.resources.ResourceManager;
+import net.minecraft.client.resources.ResourceManagerReloadListener;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -19,6 +22,7 @@ import openmods.config.CommandConfig;
 import openmods.gui.ClientGuiHandler;
 import openmods.movement.LegacyTickHandler;
 import openmods.movement.PlayerMovementManager;
+import openmods.utils.render.TextLayoutCache;
 import cpw.mods.fml.client.FMLClientHandler;
 import cpw.mods.fml.common.network.IGuiHandler;
 import cpw.mods.fml.common.network.Player;
@@ -100,7 +104,14 @@ public class OpenClientProxy implements IOpenModsProxy {
 	}
 
 	@Override
-	public void init() {}
+	public void init() {
+		((ReloadableResourceManager)Minecraft.getMinecraft().getResourceManager()).registerReloadListener(new ResourceManagerReloadListener() {
+			@Override
+			public void onResourceManagerReload(ResourceManager resourceManager) {
+				TextLayoutCache.clear();
+			}
+		});
+	}
 
 	@Override
 	public void postInit() {
@@ -1,14 +1,42 @@
 package openmods.renderer;
 
+import java.util.Queue;
+
 import org.lwjgl.opengl.GL11;
 
+import com.google.common.collect.Queues;
+
 public abstract class DisplayListWrapper {
 
+	// lists of collected wrappers, deleted on render thread
+	private static final Queue<Integer> orphanedLists = Queues.newConcurrentLinkedQueue();
+
 	private Integer displayList;
 
+	/**
+	 * Fallback for wrappers that were not released. Finalizer thread has
+	 * no GL context, so list is only queued for deletion
+	 */
 	@Override
 	protected void finalize() {
-		if (displayList != null) GL11.glDeleteLists(displayList, 1);
+		if (displayList != null) orphanedLists.add(displayList);
+	}
+
+	/**
+	 * Must be called on render thread. Wrapper can be used again after that
+	 * (list will be recompiled)
+	 */
+	public void release() {
+		if (displayList != null) {
+			GL11.glDeleteLists(displayList, 1);
+			displayList = null;
+		}
+	}
+
+	public static void deleteOrphanedLists() {
+		Integer list;
+		while ((list = orphanedLists.poll()) != null)
+			GL11.glDeleteLists(list, 1);
 	}
 
 	public boolean isCompiled() {
@@ -16,6 +44,8 @@ public abstract class DisplayListWrapper {
 	}
 
 	public void render() {
+		deleteOrphanedLists();
+
 		if (displayList == null) {
 			displayList = GL11.glGenLists(1);
 			GL11.glNewList(displayList, GL11.GL_COMPILE);
@@ -1,6 +1,7 @@
 package openmods.renderer;
 
 import java.io.IOException;
+import java.nio.IntBuffer;
 
 import net.minecraft.client.renderer.texture.AbstractTexture;
 import net.minecraft.client.renderer.texture.TextureManager;
@@ -8,6 +9,10 @@ import net.minecraft.client.renderer.texture.TextureUtil;
 import net.minecraft.client.resources.ResourceManager;
 import net.minecraft.util.ResourceLocation;
 
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
 import com.google.common.base.Preconditions;
 
 import cpw.mods.fml.relauncher.Side;
@@ -19,6 +24,8 @@ public class DisposableDynamicTexture extends AbstractTexture {
 	private int width;
 	private int height;
 
+	private IntBuffer uploadBuffer;
+
 	private static int textureCounter;
 
 	public DisposableDynamicTexture() {}
@@ -44,6 +51,30 @@ public class DisposableDynamicTexture extends AbstractTexture {
 		dynamicTextureData = null;
 	}
 
+	/**
+	 * Uploads part of {@code data} (which has size of whole texture)
+	 */
+	public void updateRegion(int[] data, int x, int y, int regionWidth, int regionHeight) {
+		Preconditions.checkArgument(data.length == width * height, "Invalid data size");
+		Preconditions.checkArgument(x >= 0 && y >= 0 && x + regionWidth <= width && y + regionHeight <= height, "Region outside texture");
+
+		final int size = regionWidth * regionHeight;
+		if (uploadBuffer == null || uploadBuffer.capacity() < size) uploadBuffer = BufferUtils.createIntBuffer(size);
+
+		uploadBuffer.clear();
+		for (int row = 0; row < regionHeight; row++)
+			uploadBuffer.put(data, (y + row) * width + x, regionWidth);
+		uploadBuffer.flip();
+
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, getGlTextureId());
+		GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, x, y, regionWidth, regionHeight, GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, uploadBuffer);
+	}
+
+	public void update(int[] data) {
+		Preconditions.checkArgument(data.length == width * height, "Invalid data size");
+		TextureUtil.uploadTexture(getGlTextureId(), data, width, height);
+	}
+
 	public int[] allocate() {
 		if (dynamicTextureData == null) dynamicTextureData = new int[width * height];
 
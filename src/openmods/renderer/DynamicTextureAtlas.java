@@ -4,20 +4,41 @@ import java.util.List;
 
 import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.util.ResourceLocation;
+import openmods.renderer.ShelfPacker.Region;
 import openmods.utils.ByteUtils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
+/**
+ * Texture with cells of any size, packed on shelves. Cells can be added
+ * and removed between compilations, compile only uploads changed area
+ * (unless texture had to grow, which doubles its smaller side).
+ */
 public class DynamicTextureAtlas {
 
 	public class AtlasCell {
+		private final int width;
+		private final int height;
+
 		private int[] pixels;
 
+		private Region region;
+
+		private AtlasCell(int width, int height) {
+			this.width = width;
+			this.height = height;
+		}
+
 		public void setPixels(int[] pixels) {
+			Preconditions.checkArgument(pixels.length >= width * height, "Expected %s pixels, got %s", width * height, pixels.length);
 			this.pixels = pixels;
 		}
 
+		public void free() {
+			freeCell(this);
+		}
+
 		public float minU;
 		public float minV;
 		public float maxU;
@@ -32,12 +53,23 @@ public class DynamicTextureAtlas {
 	private final DisposableDynamicTexture textureWrapper;
 	private final ResourceLocation textureLocation;
 
+	private final ShelfPacker packer;
+
+	// CPU copy of texture, needed for partial updates
+	private int[] buffer;
+	private int bufferWidth;
+	private int bufferHeight;
+
+	private int dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY;
+
 	public DynamicTextureAtlas(TextureManager manager, int cellSize) {
 		Preconditions.checkArgument(ByteUtils.isPowerOfTwo(cellSize), "NO POWER!");
 		this.manager = manager;
 		this.cellSize = cellSize;
 		this.textureWrapper = new DisposableDynamicTexture();
 		this.textureLocation = textureWrapper.register(manager, "dyn-atlas");
+		this.packer = new ShelfPacker(cellSize, cellSize);
+		resetDirtyArea();
 	}
 
 	public void bind() {
@@ -45,52 +77,100 @@ public class DynamicTextureAtlas {
 	}
 
 	public AtlasCell allocateCell() {
-		AtlasCell cell = new AtlasCell();
+		return allocateCell(cellSize, cellSize);
+	}
+
+	public AtlasCell allocateCell(int width, int height) {
+		Preconditions.checkArgument(width > 0 && height > 0, "Invalid cell size: %sx%s", width, height);
+		AtlasCell cell = new AtlasCell(width, height);
 		cells.add(cell);
 		return cell;
 	}
 
+	/**
+	 * Space of cell will be reused by cells added later. Texture contents
+	 * are left as they are
+	 */
+	public void freeCell(AtlasCell cell) {
+		if (cells.remove(cell) && cell.region != null) {
+			packer.free(cell.region);
+			cell.region = null;
+		}
+	}
+
 	public void clearCells() {
 		cells.clear();
+		packer.clear();
 	}
 
-	public void compile() {
-		int count = cells.size();
-		Preconditions.checkState(count > 0, "No cells added");
-		int side = (int)Math.ceil(Math.sqrt(count));
-		int width = ByteUtils.nextPowerOf2(side);
-		int area = width * width;
-		int height = (count <= area / 2)? width / 2 : width;
+	private void resetDirtyArea() {
+		dirtyMinX = dirtyMinY = Integer.MAX_VALUE;
+		dirtyMaxX = dirtyMaxY = Integer.MIN_VALUE;
+	}
 
-		textureWrapper.resize(width * cellSize, height * cellSize);
-		int[] buffer = textureWrapper.allocate();
+	private void markDirty(Region region) {
+		dirtyMinX = Math.min(dirtyMinX, region.x);
+		dirtyMinY = Math.min(dirtyMinY, region.y);
+		dirtyMaxX = Math.max(dirtyMaxX, region.x + region.width);
+		dirtyMaxY = Math.max(dirtyMaxY, region.y + region.height);
+	}
+
+	private Region allocateRegion(AtlasCell cell) {
+		Region region;
+		while ((region = packer.allocate(cell.width, cell.height)) == null) {
+			final int width = packer.getWidth();
+			final int height = packer.getHeight();
+			if (width <= height) packer.grow(width * 2, height);
+			else packer.grow(width, height * 2);
+		}
+		return region;
+	}
 
-		final int pixelsPerLine = width * cellSize;
-		final int pixelsPerCellRow = pixelsPerLine * cellSize;
+	public void compile() {
+		Preconditions.checkState(!cells.isEmpty(), "No cells added");
 
-		final float cellU = 1.0f / width;
-		final float cellV = 1.0f / height;
+		for (AtlasCell cell : cells) {
+			if (cell.region == null) cell.region = allocateRegion(cell);
+		}
 
-		for (int cell = 0; cell < count; cell++) {
-			int cellX = cell % width;
-			int cellY = cell / width;
+		final int width = packer.getWidth();
+		final int height = packer.getHeight();
+		final boolean resized = width != bufferWidth || height != bufferHeight;
+		if (resized) {
+			int[] newBuffer = new int[width * height];
+			if (buffer != null) {
+				for (int row = 0; row < bufferHeight; row++)
+					System.arraycopy(buffer, row * bufferWidth, newBuffer, row * width, bufferWidth);
+			}
 
-			AtlasCell cellData = cells.get(cell);
+			buffer = newBuffer;
+			bufferWidth = width;
+			bufferHeight = height;
+			textureWrapper.resize(width, height);
+		}
 
-			int cellStart = cellY * pixelsPerCellRow + cellX * cellSize;
-			for (int row = 0; row < cellSize; row++) {
-				int dstPos = cellStart + row * pixelsPerLine;
-				int srcPos = row * cellSize;
-				System.arraycopy(cellData.pixels, srcPos, buffer, dstPos, 64);
+		for (AtlasCell cell : cells) {
+			final Region region = cell.region;
+			if (cell.pixels != null) {
+				for (int row = 0; row < region.height; row++) {
+					int dstPos = (region.y + row) * width + region.x;
+					int srcPos = row * region.width;
+					System.arraycopy(cell.pixels, srcPos, buffer, dstPos, region.width);
+				}
+
+				cell.pixels = null;
+				markDirty(region);
 			}
 
-			cellData.pixels = null;
-			cellData.minU = (float)cellX / width;
-			cellData.minV = (float)cellY / height;
-			cellData.maxU = cellData.minU + cellU;
-			cellData.maxV = cellData.minV + cellV;
+			cell.minU = (float)region.x / width;
+			cell.minV = (float)region.y / height;
+			cell.maxU = (float)(region.x + region.width) / width;
+			cell.maxV = (float)(region.y + region.height) / height;
 		}
 
-		textureWrapper.updateAndDeallocate();
+		if (resized) textureWrapper.update(buffer);
+		else if (dirtyMinX < dirtyMaxX) textureWrapper.updateRegion(buffer, dirtyMinX, dirtyMinY, dirtyMaxX - dirtyMinX, dirtyMaxY - dirtyMinY);
+
+		resetDirtyArea();
 	}
 }
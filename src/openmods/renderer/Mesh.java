@@ -0,0 +1,98 @@
+package openmods.renderer;
+
+import net.minecraft.client.renderer.Tessellator;
+
+/**
+ * Immutable list of quad vertices (position, UV, color, normal) packed in
+ * int array. Has no GL resources, so it needs no cleanup.
+ */
+public class Mesh {
+
+	static final int VERTEX_SIZE = 7;
+
+	static final int OFFSET_X = 0;
+	static final int OFFSET_Y = 1;
+	static final int OFFSET_Z = 2;
+	static final int OFFSET_U = 3;
+	static final int OFFSET_V = 4;
+	static final int OFFSET_COLOR = 5;
+	static final int OFFSET_NORMAL = 6;
+
+	private final int[] data;
+
+	private final int vertexCount;
+
+	private final boolean hasColor;
+
+	private final boolean hasNormal;
+
+	Mesh(int[] data, int vertexCount, boolean hasColor, boolean hasNormal) {
+		this.data = data;
+		this.vertexCount = vertexCount;
+		this.hasColor = hasColor;
+		this.hasNormal = hasNormal;
+	}
+
+	public int getVertexCount() {
+		return vertexCount;
+	}
+
+	public float getX(int vertex) {
+		return Float.intBitsToFloat(data[vertex * VERTEX_SIZE + OFFSET_X]);
+	}
+
+	public float getY(int vertex) {
+		return Float.intBitsToFloat(data[vertex * VERTEX_SIZE + OFFSET_Y]);
+	}
+
+	public float getZ(int vertex) {
+		return Float.intBitsToFloat(data[vertex * VERTEX_SIZE + OFFSET_Z]);
+	}
+
+	public float getU(int vertex) {
+		return Float.intBitsToFloat(data[vertex * VERTEX_SIZE + OFFSET_U]);
+	}
+
+	public float getV(int vertex) {
+		return Float.intBitsToFloat(data[vertex * VERTEX_SIZE + OFFSET_V]);
+	}
+
+	/**
+	 * @return color in ARGB format
+	 */
+	public int getColor(int vertex) {
+		return data[vertex * VERTEX_SIZE + OFFSET_COLOR];
+	}
+
+	/**
+	 * @return normal packed as three signed bytes (x in lowest)
+	 */
+	public int getNormal(int vertex) {
+		return data[vertex * VERTEX_SIZE + OFFSET_NORMAL];
+	}
+
+	/**
+	 * Sends vertices to tessellator, which must be already drawing quads.
+	 * Offset is added to positions.
+	 */
+	public void draw(Tessellator tes, double x, double y, double z) {
+		for (int i = 0, pos = 0; i < vertexCount; i++, pos += VERTEX_SIZE) {
+			if (hasColor) {
+				final int color = data[pos + OFFSET_COLOR];
+				tes.setColorRGBA((color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF, (color >>> 24));
+			}
+
+			if (hasNormal) {
+				final int normal = data[pos + OFFSET_NORMAL];
+				tes.setNormal((byte)normal / 127.0f, (byte)(normal >> 8) / 127.0f, (byte)(normal >> 16) / 127.0f);
+			}
+
+			tes.addVertexWithUV(
+					x + Float.intBitsToFloat(data[pos + OFFSET_X]),
+					y + Float.intBitsToFloat(data[pos + OFFSET_Y]),
+					z + Float.intBitsToFloat(data[pos + OFFSET_Z]),
+					Float.intBitsToFloat(data[pos + OFFSET_U]),
+					Float.intBitsToFloat(data[pos + OFFSET_V]));
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package openmods.renderer;
+
+import java.util.Arrays;
+
+import net.minecraftforge.common.ForgeDirection;
+
+/**
+ * Collects quad vertices into {@link Mesh}. Rotation around vertical axis
+ * of unit block (same as {@link RotatedTessellator}) is applied while
+ * vertices are added, so finished mesh doesn't need any transformation.
+ * Works without GL.
+ */
+public class MeshBuilder {
+
+	private int[] data = new int[Mesh.VERTEX_SIZE * 4 * 6];
+
+	private int vertexCount;
+
+	private float u, v;
+
+	private int color = 0xFFFFFFFF;
+
+	private int normal;
+
+	private boolean hasColor;
+
+	private boolean hasNormal;
+
+	private ForgeDirection rotation = ForgeDirection.SOUTH;
+
+	/**
+	 * Rotation is applied to vertices and normals added after this call
+	 */
+	public MeshBuilder setRotation(ForgeDirection rotation) {
+		this.rotation = rotation;
+		return this;
+	}
+
+	public MeshBuilder setTextureUV(double u, double v) {
+		this.u = (float)u;
+		this.v = (float)v;
+		return this;
+	}
+
+	public MeshBuilder setColorRGBA(int r, int g, int b, int a) {
+		this.color = ((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+		this.hasColor = true;
+		return this;
+	}
+
+	public MeshBuilder setColorOpaque(int r, int g, int b) {
+		return setColorRGBA(r, g, b, 255);
+	}
+
+	public MeshBuilder setNormal(float x, float y, float z) {
+		final float rx, rz;
+		switch (rotation) {
+			case NORTH:
+				rx = -x;
+				rz = -z;
+				break;
+			case EAST:
+				rx = z;
+				rz = -x;
+				break;
+			case WEST:
+				rx = -z;
+				rz = x;
+				break;
+			default:
+				rx = x;
+				rz = z;
+				break;
+		}
+
+		this.normal = packNormalComponent(rx) | (packNormalComponent(y) << 8) | (packNormalComponent(rz) << 16);
+		this.hasNormal = true;
+		return this;
+	}
+
+	private static int packNormalComponent(float v) {
+		return ((byte)(v * 127)) & 0xFF;
+	}
+
+	public MeshBuilder addVertexWithUV(double x, double y, double z, double u, double v) {
+		setTextureUV(u, v);
+		return addVertex(x, y, z);
+	}
+
+	public MeshBuilder addVertex(double x, double y, double z) {
+		final double rx, rz;
+		switch (rotation) {
+			case NORTH:
+				rx = 1 - x;
+				rz = 1 - z;
+				break;
+			case EAST:
+				rx = z;
+				rz = 1 - x;
+				break;
+			case WEST:
+				rx = 1 - z;
+				rz = x;
+				break;
+			default:
+				rx = x;
+				rz = z;
+				break;
+		}
+
+		final int pos = vertexCount * Mesh.VERTEX_SIZE;
+		if (pos + Mesh.VERTEX_SIZE > data.length) data = Arrays.copyOf(data, data.length * 2);
+
+		data[pos + Mesh.OFFSET_X] = Float.floatToIntBits((float)rx);
+		data[pos + Mesh.OFFSET_Y] = Float.floatToIntBits((float)y);
+		data[pos + Mesh.OFFSET_Z] = Float.floatToIntBits((float)rz);
+		data[pos + Mesh.OFFSET_U] = Float.floatToIntBits(u);
+		data[pos + Mesh.OFFSET_V] = Float.floatToIntBits(v);
+		data[pos + Mesh.OFFSET_COLOR] = color;
+		data[pos + Mesh.OFFSET_NORMAL] = normal;
+		vertexCount++;
+		return this;
+	}
+
+	public Mesh build() {
+		return new Mesh(Arrays.copyOf(data, vertexCount * Mesh.VERTEX_SIZE), vertexCount, hasColor, hasNormal);
+	}
+}
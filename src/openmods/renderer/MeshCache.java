@@ -0,0 +1,46 @@
+package openmods.renderer;
+
+import java.util.Map;
+
+import net.minecraftforge.common.ForgeDirection;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Meshes built once per key (i.e. block and metadata) and rotation.
+ * Contents are plain arrays, so entries may be dropped at any time
+ * (i.e. on resource reload) without GL cleanup.
+ */
+public abstract class MeshCache<K> {
+
+	private final Map<K, Mesh[]> meshes = Maps.newHashMap();
+
+	protected abstract void buildMesh(K key, MeshBuilder builder);
+
+	public Mesh get(K key, ForgeDirection rotation) {
+		Mesh[] rotations = meshes.get(key);
+		if (rotations == null) {
+			rotations = new Mesh[ForgeDirection.VALID_DIRECTIONS.length];
+			meshes.put(key, rotations);
+		}
+
+		// UNKNOWN shares slot with DOWN - neither is rotated
+		final int index = rotation.ordinal() % rotations.length;
+		Mesh mesh = rotations[index];
+		if (mesh == null) {
+			MeshBuilder builder = new MeshBuilder().setRotation(rotation);
+			buildMesh(key, builder);
+			mesh = rotations[index] = builder.build();
+		}
+
+		return mesh;
+	}
+
+	public void invalidate(K key) {
+		meshes.remove(key);
+	}
+
+	public void clear() {
+		meshes.clear();
+	}
+}
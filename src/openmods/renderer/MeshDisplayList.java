@@ -0,0 +1,23 @@
+package openmods.renderer;
+
+import net.minecraft.client.renderer.Tessellator;
+
+/**
+ * Display list with contents of mesh
+ */
+public class MeshDisplayList extends DisplayListWrapper {
+
+	private final Mesh mesh;
+
+	public MeshDisplayList(Mesh mesh) {
+		this.mesh = mesh;
+	}
+
+	@Override
+	public void compile() {
+		Tessellator tes = Tessellator.instance;
+		tes.startDrawingQuads();
+		mesh.draw(tes, 0, 0, 0);
+		tes.draw();
+	}
+}
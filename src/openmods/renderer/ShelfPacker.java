@@ -0,0 +1,178 @@
+package openmods.renderer;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * Packs rectangles into area by placing them on horizontal shelves.
+ * Rectangles can be freed (space is reused by next rectangles on same
+ * shelf) and area can grow without moving already placed ones. No GL
+ * dependencies.
+ */
+public class ShelfPacker {
+
+	public static class Region {
+		public final int x, y, width, height;
+		private final Shelf shelf;
+
+		private Region(Shelf shelf, int x, int width, int height) {
+			this.shelf = shelf;
+			this.x = x;
+			this.y = shelf.y;
+			this.width = width;
+			this.height = height;
+		}
+	}
+
+	private static class Span {
+		private int x, width;
+
+		private Span(int x, int width) {
+			this.x = x;
+			this.width = width;
+		}
+	}
+
+	private static class Shelf {
+		private final int y, height;
+
+		// sorted by x, never adjacent
+		private final List<Span> free = Lists.newArrayList();
+
+		private int regions;
+
+		private Shelf(int y, int height, int width) {
+			this.y = y;
+			this.height = height;
+			free.add(new Span(0, width));
+		}
+
+		private Span findSpan(int width) {
+			Span best = null;
+			for (Span span : free)
+				if (span.width >= width && (best == null || span.width < best.width)) best = span;
+			return best;
+		}
+
+		private Region take(Span span, int width, int height) {
+			Region region = new Region(this, span.x, width, height);
+			span.x += width;
+			span.width -= width;
+			if (span.width == 0) free.remove(span);
+			regions++;
+			return region;
+		}
+
+		private void release(int x, int width) {
+			int index = 0;
+			while (index < free.size() && free.get(index).x < x)
+				index++;
+
+			Span span = new Span(x, width);
+			free.add(index, span);
+
+			if (index + 1 < free.size()) {
+				Span next = free.get(index + 1);
+				if (span.x + span.width == next.x) {
+					span.width += next.width;
+					free.remove(index + 1);
+				}
+			}
+
+			if (index > 0) {
+				Span prev = free.get(index - 1);
+				if (prev.x + prev.width == span.x) {
+					prev.width += span.width;
+					free.remove(index);
+				}
+			}
+		}
+	}
+
+	private final List<Shelf> shelves = Lists.newArrayList();
+
+	private int width, height;
+
+	// start of unused space below last shelf
+	private int top;
+
+	public ShelfPacker(int width, int height) {
+		this.width = width;
+		this.height = height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return allocated region or null, if there is no space
+	 */
+	public Region allocate(int width, int height) {
+		Preconditions.checkArgument(width > 0 && height > 0, "Invalid size: %sx%s", width, height);
+		if (width > this.width || height > this.height) return null;
+
+		Shelf bestShelf = null;
+		Span bestSpan = null;
+		for (Shelf shelf : shelves) {
+			if (shelf.height < height || (bestShelf != null && shelf.height >= bestShelf.height)) continue;
+			Span span = shelf.findSpan(width);
+			if (span != null) {
+				bestShelf = shelf;
+				bestSpan = span;
+			}
+		}
+
+		// don't waste tall shelves on small rectangles, if there is still space
+		final boolean canAddShelf = top + height <= this.height;
+		if (bestShelf != null && (bestShelf.height - height <= height / 2 || !canAddShelf)) return bestShelf.take(bestSpan, width, height);
+
+		if (canAddShelf) {
+			Shelf shelf = new Shelf(top, height, this.width);
+			shelves.add(shelf);
+			top += height;
+			return shelf.take(shelf.free.get(0), width, height);
+		}
+
+		return (bestShelf != null)? bestShelf.take(bestSpan, width, height) : null;
+	}
+
+	public void free(Region region) {
+		Shelf shelf = region.shelf;
+		shelf.release(region.x, region.width);
+		shelf.regions--;
+
+		// trailing empty shelves can be reused for different heights
+		while (!shelves.isEmpty()) {
+			Shelf last = shelves.get(shelves.size() - 1);
+			if (last.regions > 0) break;
+			shelves.remove(shelves.size() - 1);
+			top = last.y;
+		}
+	}
+
+	public void clear() {
+		shelves.clear();
+		top = 0;
+	}
+
+	/**
+	 * Extends area. Already allocated regions keep their positions
+	 */
+	public void grow(int newWidth, int newHeight) {
+		Preconditions.checkArgument(newWidth >= width && newHeight >= height, "Area can't shrink");
+		if (newWidth > width) {
+			for (Shelf shelf : shelves)
+				shelf.release(width, newWidth - width);
+		}
+
+		width = newWidth;
+		height = newHeight;
+	}
+}
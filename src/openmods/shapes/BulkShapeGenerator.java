@@ -0,0 +1,31 @@
+package openmods.shapes;
+
+/**
+ * Generator that emits shapes as rows of blocks along X axis. Every block
+ * is emitted only once.
+ */
+public abstract class BulkShapeGenerator implements IShapeGenerator {
+
+	public abstract void generateShape(int xSize, int ySize, int zSize, IBulkShapeable shapeable);
+
+	/**
+	 * Value for generators without any state
+	 */
+	protected static final Object NO_PARAMETERS = "";
+
+	/**
+	 * Generators with same class, size and parameters must produce same
+	 * shape. Subclasses that add state must override this method again.
+	 * 
+	 * @return parameters used by {@link ShapeCache}, or null if shapes
+	 *         should not be cached
+	 */
+	public Object getCacheParameters() {
+		return null;
+	}
+
+	@Override
+	public void generateShape(int xSize, int ySize, int zSize, IShapeable shapeable) {
+		generateShape(xSize, ySize, zSize, BulkShapeables.wrap(shapeable));
+	}
+}
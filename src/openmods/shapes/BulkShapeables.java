@@ -0,0 +1,74 @@
+package openmods.shapes;
+
+public class BulkShapeables {
+
+	/**
+	 * Merges consecutive blocks and rows into longer rows, skipping block
+	 * repeated immediately. Must be flushed after shape is finished.
+	 */
+	public static class RunMerger implements IBulkShapeable {
+		private final IBulkShapeable target;
+
+		private boolean hasRun;
+		private int runMinX, runMaxX, runY, runZ;
+
+		private RunMerger(IBulkShapeable target) {
+			this.target = target;
+		}
+
+		@Override
+		public void setBlock(int x, int y, int z) {
+			setBlocks(x, x, y, z);
+		}
+
+		@Override
+		public void setBlocks(int minX, int maxX, int y, int z) {
+			if (hasRun && y == runY && z == runZ && minX <= runMaxX + 1 && maxX >= runMinX - 1) {
+				runMinX = Math.min(runMinX, minX);
+				runMaxX = Math.max(runMaxX, maxX);
+				return;
+			}
+
+			flush();
+			hasRun = true;
+			runMinX = minX;
+			runMaxX = maxX;
+			runY = y;
+			runZ = z;
+		}
+
+		public void flush() {
+			if (hasRun) {
+				target.setBlocks(runMinX, runMaxX, runY, runZ);
+				hasRun = false;
+			}
+		}
+	}
+
+	private static class Adapter implements IBulkShapeable {
+		private final IShapeable target;
+
+		private Adapter(IShapeable target) {
+			this.target = target;
+		}
+
+		@Override
+		public void setBlock(int x, int y, int z) {
+			target.setBlock(x, y, z);
+		}
+
+		@Override
+		public void setBlocks(int minX, int maxX, int y, int z) {
+			for (int x = minX; x <= maxX; x++)
+				target.setBlock(x, y, z);
+		}
+	}
+
+	public static IBulkShapeable wrap(IShapeable shapeable) {
+		return (shapeable instanceof IBulkShapeable)? (IBulkShapeable)shapeable : new Adapter(shapeable);
+	}
+
+	public static RunMerger mergeRuns(IBulkShapeable shapeable) {
+		return new RunMerger(shapeable);
+	}
+}
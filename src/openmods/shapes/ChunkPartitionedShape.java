@@ -0,0 +1,102 @@
+package openmods.shapes;
+
+import java.util.*;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Collects rows of shape (moved to absolute coordinates) into buckets per
+ * chunk column. Rows crossing chunk boundary are split.
+ */
+class ChunkPartitionedShape implements IBulkShapeable {
+
+	static class ChunkRows {
+		final int chunkX, chunkZ;
+
+		// minX, maxX, y, z
+		int[] rows = new int[64];
+
+		int length;
+
+		private ChunkRows(int chunkX, int chunkZ) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+		}
+
+		private void add(int minX, int maxX, int y, int z) {
+			if (length + 4 > rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+			rows[length++] = minX;
+			rows[length++] = maxX;
+			rows[length++] = y;
+			rows[length++] = z;
+		}
+	}
+
+	private final int originX, originY, originZ;
+
+	private final Map<Long, ChunkRows> chunks = Maps.newHashMap();
+
+	private int blockCount;
+
+	ChunkPartitionedShape(int originX, int originY, int originZ) {
+		this.originX = originX;
+		this.originY = originY;
+		this.originZ = originZ;
+	}
+
+	private ChunkRows getChunk(int chunkX, int chunkZ) {
+		final Long key = ((long)chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+		ChunkRows result = chunks.get(key);
+		if (result == null) {
+			result = new ChunkRows(chunkX, chunkZ);
+			chunks.put(key, result);
+		}
+		return result;
+	}
+
+	@Override
+	public void setBlock(int x, int y, int z) {
+		setBlocks(x, x, y, z);
+	}
+
+	@Override
+	public void setBlocks(int minX, int maxX, int y, int z) {
+		final int absY = originY + y;
+		final int absZ = originZ + z;
+		final int chunkZ = absZ >> 4;
+
+		int start = originX + minX;
+		final int end = originX + maxX;
+		blockCount += end - start + 1;
+		while (start <= end) {
+			final int chunkX = start >> 4;
+			final int chunkEnd = Math.min(end, (chunkX << 4) + 15);
+			getChunk(chunkX, chunkZ).add(start, chunkEnd, absY, absZ);
+			start = chunkEnd + 1;
+		}
+	}
+
+	public int getBlockCount() {
+		return blockCount;
+	}
+
+	/**
+	 * @return chunks, nearest to origin first
+	 */
+	public List<ChunkRows> getChunks() {
+		final int centerX = originX >> 4;
+		final int centerZ = originZ >> 4;
+		List<ChunkRows> result = new ArrayList<ChunkRows>(chunks.values());
+		Collections.sort(result, new Comparator<ChunkRows>() {
+			private int distance(ChunkRows c) {
+				return Math.max(Math.abs(c.chunkX - centerX), Math.abs(c.chunkZ - centerZ));
+			}
+
+			@Override
+			public int compare(ChunkRows o1, ChunkRows o2) {
+				return distance(o1) - distance(o2);
+			}
+		});
+		return result;
+	}
+}
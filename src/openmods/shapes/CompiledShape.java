@@ -0,0 +1,61 @@
+package openmods.shapes;
+
+import java.util.Arrays;
+
+/**
+ * Immutable shape stored as flat array of rows, can be replayed many times
+ */
+public class CompiledShape {
+
+	private static class Builder implements IBulkShapeable {
+		// minX, maxX, y, z
+		private int[] rows = new int[64];
+
+		private int length;
+
+		private int blockCount;
+
+		@Override
+		public void setBlock(int x, int y, int z) {
+			setBlocks(x, x, y, z);
+		}
+
+		@Override
+		public void setBlocks(int minX, int maxX, int y, int z) {
+			if (length + 4 > rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+			rows[length++] = minX;
+			rows[length++] = maxX;
+			rows[length++] = y;
+			rows[length++] = z;
+			blockCount += maxX - minX + 1;
+		}
+	}
+
+	private final int[] rows;
+
+	private final int blockCount;
+
+	private CompiledShape(int[] rows, int blockCount) {
+		this.rows = rows;
+		this.blockCount = blockCount;
+	}
+
+	public static CompiledShape compile(BulkShapeGenerator generator, int xSize, int ySize, int zSize) {
+		Builder builder = new Builder();
+		generator.generateShape(xSize, ySize, zSize, builder);
+		return new CompiledShape(Arrays.copyOf(builder.rows, builder.length), builder.blockCount);
+	}
+
+	public void replay(IBulkShapeable target) {
+		for (int i = 0; i < rows.length; i += 4)
+			target.setBlocks(rows[i], rows[i + 1], rows[i + 2], rows[i + 3]);
+	}
+
+	public int getBlockCount() {
+		return blockCount;
+	}
+
+	public int getMemorySize() {
+		return 4 * rows.length;
+	}
+}
@@ -0,0 +1,12 @@
+package openmods.shapes;
+
+/**
+ * Shapeable that can accept whole rows of blocks at once
+ */
+public interface IBulkShapeable extends IShapeable {
+	/**
+	 * Sets all blocks from {@code (minX, y, z)} to {@code (maxX, y, z)}
+	 * (inclusive)
+	 */
+	public void setBlocks(int minX, int maxX, int y, int z);
+}
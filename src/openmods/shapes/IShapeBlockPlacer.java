@@ -0,0 +1,10 @@
+package openmods.shapes;
+
+import net.minecraft.world.World;
+
+public interface IShapeBlockPlacer {
+	/**
+	 * Called on server thread, with absolute coordinates
+	 */
+	public void placeBlock(World world, int x, int y, int z);
+}
@@ -0,0 +1,126 @@
+package openmods.shapes;
+
+import java.util.*;
+
+import openmods.LibConfig;
+
+import com.google.common.base.Objects;
+
+/**
+ * LRU cache of generated shapes, limited by total size of stored rows
+ * ({@link LibConfig#shapeCacheSize}). Caching is opt-in: only
+ * {@link BulkShapeGenerator}s that return non-null
+ * {@link BulkShapeGenerator#getCacheParameters()} are cached. Thread safe.
+ */
+public class ShapeCache {
+
+	private static class Key {
+		private final Class<?> generatorClass;
+		private final Object parameters;
+		private final int xSize, ySize, zSize;
+
+		private Key(BulkShapeGenerator generator, Object parameters, int xSize, int ySize, int zSize) {
+			this.generatorClass = generator.getClass();
+			this.parameters = parameters;
+			this.xSize = xSize;
+			this.ySize = ySize;
+			this.zSize = zSize;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(generatorClass, parameters, xSize, ySize, zSize);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) return false;
+			Key other = (Key)obj;
+			return generatorClass == other.generatorClass
+					&& Objects.equal(parameters, other.parameters)
+					&& xSize == other.xSize
+					&& ySize == other.ySize
+					&& zSize == other.zSize;
+		}
+	}
+
+	private static final LinkedHashMap<Key, CompiledShape> cache = new LinkedHashMap<Key, CompiledShape>(16, 0.75f, true);
+
+	private static long memoryUsed;
+
+	private static long hits;
+
+	private static long misses;
+
+	/**
+	 * Returns cached shape, or compiles new one. Shapes of generators
+	 * without cache parameters are never stored
+	 */
+	public static CompiledShape get(BulkShapeGenerator generator, int xSize, int ySize, int zSize) {
+		final Object parameters = generator.getCacheParameters();
+		if (parameters == null) return CompiledShape.compile(generator, xSize, ySize, zSize);
+
+		final Key key = new Key(generator, parameters, xSize, ySize, zSize);
+		synchronized (ShapeCache.class) {
+			CompiledShape shape = cache.get(key);
+			if (shape != null) {
+				hits++;
+				return shape;
+			}
+			misses++;
+		}
+
+		// generated without lock, so big shapes don't block other threads
+		CompiledShape shape = CompiledShape.compile(generator, xSize, ySize, zSize);
+		store(key, shape);
+		return shape;
+	}
+
+	private static synchronized void store(Key key, CompiledShape shape) {
+		final long limit = LibConfig.shapeCacheSize * 1024L;
+		if (shape.getMemorySize() > limit) return;
+
+		CompiledShape previous = cache.put(key, shape);
+		if (previous != null) memoryUsed -= previous.getMemorySize();
+		memoryUsed += shape.getMemorySize();
+
+		Iterator<CompiledShape> it = cache.values().iterator();
+		while (memoryUsed > limit && it.hasNext()) {
+			memoryUsed -= it.next().getMemorySize();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Generates shape, using cached one when possible
+	 */
+	public static void generate(IShapeGenerator generator, int xSize, int ySize, int zSize, IShapeable shapeable) {
+		if (generator instanceof BulkShapeGenerator) {
+			BulkShapeGenerator bulkGenerator = (BulkShapeGenerator)generator;
+			IBulkShapeable target = BulkShapeables.wrap(shapeable);
+			if (bulkGenerator.getCacheParameters() != null) get(bulkGenerator, xSize, ySize, zSize).replay(target);
+			else bulkGenerator.generateShape(xSize, ySize, zSize, target);
+		} else generator.generateShape(xSize, ySize, zSize, shapeable);
+	}
+
+	public static synchronized void clear() {
+		cache.clear();
+		memoryUsed = 0;
+	}
+
+	public static synchronized long getHits() {
+		return hits;
+	}
+
+	public static synchronized long getMisses() {
+		return misses;
+	}
+
+	public static synchronized long getMemoryUsed() {
+		return memoryUsed;
+	}
+
+	public static synchronized int getSize() {
+		return cache.size();
+	}
+}
@@ -2,46 +2,64 @@ package openmods.shapes;
 
 import openmods.utils.MathUtils;
 
-public class ShapeCylinderGenerator implements IShapeGenerator {
+public class ShapeCylinderGenerator extends BulkShapeGenerator {
 
 	@Override
-	public void generateShape(int radiusX, int height, int radiusZ, IShapeable shapeable) {
+	public Object getCacheParameters() {
+		return NO_PARAMETERS;
+	}
+
+	@Override
+	public void generateShape(int radiusX, int height, int radiusZ, IBulkShapeable shapeable) {
 		if (height == 0) { return; }
 
 		final double invRadiusX = 1.0 / radiusX;
 		final double invRadiusZ = 1.0 / radiusZ;
 
-		double nextXn = 0;
-		forX: for (int x = 0; x <= radiusX; ++x) {
-			final double xn = nextXn;
-			nextXn = (x + 1) * invRadiusX;
-			double nextZn = 0;
-			forZ: for (int z = 0; z <= radiusZ; ++z) {
-				final double zn = nextZn;
-				nextZn = (z + 1) * invRadiusZ;
-
-				double distanceSq = MathUtils.lengthSq(xn, zn);
-				if (distanceSq > 1) {
-					if (z == 0) {
-						break forX;
-					}
-					break forZ;
-				}
-
-				if (MathUtils.lengthSq(nextXn, zn) <= 1
-						&& MathUtils.lengthSq(xn, nextZn) <= 1) {
-					continue;
-				}
-
-				for (int y = -height; y <= height; ++y) {
-					shapeable.setBlock(x, y, z);
-					shapeable.setBlock(-x, y, z);
-					shapeable.setBlock(x, y, -z);
-					shapeable.setBlock(-x, y, -z);
-				}
+		// outline of single quadrant, same for every layer
+		final int[] minX = new int[radiusZ + 1];
+		final int[] maxX = new int[radiusZ + 1];
+		int rows = 0;
+
+		for (int z = 0; z <= radiusZ; ++z) {
+			final double zn = z == 0? 0 : z * invRadiusZ;
+			final double nextZn = (z + 1) * invRadiusZ;
+			if (MathUtils.lengthSq(0, zn) > 1) break;
+
+			int max = 0;
+			while (max < radiusX && MathUtils.lengthSq((max + 1) * invRadiusX, zn) <= 1)
+				max++;
+
+			int min = 0;
+			while (min <= max
+					&& MathUtils.lengthSq((min + 1) * invRadiusX, zn) <= 1
+					&& MathUtils.lengthSq(min == 0? 0 : min * invRadiusX, nextZn) <= 1)
+				min++;
+
+			minX[z] = min;
+			maxX[z] = max;
+			rows++;
+		}
+
+		for (int y = -height; y <= height; ++y) {
+			for (int z = 0; z < rows; ++z) {
+				final int min = minX[z];
+				final int max = maxX[z];
+				if (min > max) continue;
+
+				emitRows(min, max, y, z, shapeable);
+				if (z != 0) emitRows(min, max, y, -z, shapeable);
 			}
 		}
+	}
 
+	private static void emitRows(int min, int max, int y, int z, IBulkShapeable shapeable) {
+		if (min == 0) {
+			shapeable.setBlocks(-max, max, y, z);
+		} else {
+			shapeable.setBlocks(-max, -min, y, z);
+			shapeable.setBlocks(min, max, y, z);
+		}
 	}
 
 }
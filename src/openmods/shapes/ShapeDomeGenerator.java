@@ -3,10 +3,15 @@ package openmods.shapes;
 import openmods.utils.render.GeometryUtils;
 import openmods.utils.render.GeometryUtils.Octant;
 
-public class ShapeDomeGenerator implements IShapeGenerator {
+public class ShapeDomeGenerator extends BulkShapeGenerator {
 
 	@Override
-	public void generateShape(int xSize, int ySize, int zSize, IShapeable shapeable) {
+	public Object getCacheParameters() {
+		return NO_PARAMETERS;
+	}
+
+	@Override
+	public void generateShape(int xSize, int ySize, int zSize, IBulkShapeable shapeable) {
 		GeometryUtils.makeSphere(xSize, ySize, zSize, shapeable, Octant.TOP);
 	}
 
@@ -2,7 +2,7 @@ package openmods.shapes;
 
 import openmods.utils.render.GeometryUtils;
 
-public class ShapeEquilateral2dGenerator implements IShapeGenerator {
+public class ShapeEquilateral2dGenerator extends BulkShapeGenerator {
 
 	private int sides;
 
@@ -11,7 +11,14 @@ public class ShapeEquilateral2dGenerator implements IShapeGenerator {
 	}
 
 	@Override
-	public void generateShape(int xSize, int ySize, int zSize, IShapeable shapeable) {
+	public Object getCacheParameters() {
+		return sides;
+	}
+
+	@Override
+	public void generateShape(int xSize, int ySize, int zSize, IBulkShapeable target) {
+		// merges lines into rows and drops corners shared by consecutive lines
+		final BulkShapeables.RunMerger shapeable = BulkShapeables.mergeRuns(target);
 		int firstX = 0;
 		int firstZ = 0;
 		int previousX = 0;
@@ -31,6 +38,7 @@ public class ShapeEquilateral2dGenerator implements IShapeGenerator {
 			}
 		}
 		GeometryUtils.line2D(0, previousX, previousZ, firstX, firstZ, shapeable);
+		shapeable.flush();
 	}
 
 }
@@ -0,0 +1,216 @@
+package openmods.shapes;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.ForgeSubscribe;
+import net.minecraftforge.event.world.WorldEvent;
+import openmods.LibConfig;
+import openmods.Log;
+import openmods.shapes.ChunkPartitionedShape.ChunkRows;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import cpw.mods.fml.common.ITickHandler;
+import cpw.mods.fml.common.TickType;
+
+/**
+ * Places large shapes without stalling server. Shapes are generated on
+ * background threads and split per chunk column, then blocks are placed on
+ * server thread, at most {@link LibConfig#shapeBlockBudget} per world tick.
+ * Chunks nearest to origin are placed first.
+ */
+public class ShapePlacer implements ITickHandler {
+
+	public static class Job {
+		private final IShapeBlockPlacer placer;
+		private final Future<ChunkPartitionedShape> generation;
+
+		private Iterator<ChunkRows> chunks;
+		private ChunkRows currentChunk;
+		private int currentRow;
+		private int nextX;
+		private boolean nextXValid;
+
+		private int placed;
+		private int total = -1;
+		private volatile boolean cancelled;
+		private volatile boolean finished;
+
+		private Job(IShapeBlockPlacer placer, Future<ChunkPartitionedShape> generation) {
+			this.placer = placer;
+			this.generation = generation;
+		}
+
+		public void cancel() {
+			cancelled = true;
+			generation.cancel(false);
+		}
+
+		public boolean isFinished() {
+			return finished;
+		}
+
+		public int getPlacedBlocks() {
+			return placed;
+		}
+
+		/**
+		 * @return -1 when shape is still generated
+		 */
+		public int getTotalBlocks() {
+			return total;
+		}
+
+		private boolean isReady() {
+			if (chunks != null) return true;
+			if (!generation.isDone()) return false;
+
+			try {
+				ChunkPartitionedShape shape = generation.get();
+				total = shape.getBlockCount();
+				chunks = shape.getChunks().iterator();
+			} catch (Throwable t) {
+				Log.warn(t, "Failed to generate shape, cancelling");
+				cancelled = true;
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @return remaining budget
+		 */
+		private int place(World world, int budget) {
+			while (budget > 0) {
+				if (currentChunk == null || currentRow >= currentChunk.length) {
+					if (!chunks.hasNext()) {
+						finished = true;
+						break;
+					}
+					currentChunk = chunks.next();
+					currentRow = 0;
+					nextXValid = false;
+				}
+
+				final int[] rows = currentChunk.rows;
+				final int maxX = rows[currentRow + 1];
+				final int y = rows[currentRow + 2];
+				final int z = rows[currentRow + 3];
+				int x = nextXValid? nextX : rows[currentRow];
+
+				while (x <= maxX && budget > 0) {
+					placer.placeBlock(world, x++, y, z);
+					placed++;
+					budget--;
+				}
+
+				if (x > maxX) {
+					currentRow += 4;
+					nextXValid = false;
+				} else {
+					nextX = x;
+					nextXValid = true;
+				}
+			}
+
+			return budget;
+		}
+	}
+
+	private static final ExecutorService executor = Executors.newFixedThreadPool(
+			Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+			new ThreadFactoryBuilder().setNameFormat("OpenMods shape generator %d").setDaemon(true).build());
+
+	private static final Map<World, List<Job>> worlds = new WeakHashMap<World, List<Job>>();
+
+	/**
+	 * Must be called on server thread. Generator must not access world,
+	 * since it's called on different thread.
+	 */
+	public static Job place(World world, final IShapeGenerator generator, final int xSize, final int ySize, final int zSize, final int x, final int y, final int z, IShapeBlockPlacer placer) {
+		Preconditions.checkNotNull(world);
+		Preconditions.checkArgument(!world.isRemote, "Shapes can be placed only on server side");
+
+		Future<ChunkPartitionedShape> generation = executor.submit(new Callable<ChunkPartitionedShape>() {
+			@Override
+			public ChunkPartitionedShape call() {
+				ChunkPartitionedShape result = new ChunkPartitionedShape(x, y, z);
+				ShapeCache.generate(generator, xSize, ySize, zSize, result);
+				return result;
+			}
+		});
+
+		Job job = new Job(placer, generation);
+		List<Job> jobs = worlds.get(world);
+		if (jobs == null) {
+			jobs = Lists.newLinkedList();
+			worlds.put(world, jobs);
+		}
+		jobs.add(job);
+		return job;
+	}
+
+	private static void update(World world) {
+		List<Job> jobs = worlds.get(world);
+		if (jobs == null || jobs.isEmpty()) return;
+
+		int budget = LibConfig.shapeBlockBudget;
+		Iterator<Job> it = jobs.iterator();
+		while (it.hasNext() && budget > 0) {
+			Job job = it.next();
+			if (job.cancelled) {
+				it.remove();
+				continue;
+			}
+
+			if (!job.isReady()) {
+				if (job.cancelled) it.remove();
+				continue;
+			}
+
+			try {
+				budget = job.place(world, budget);
+			} catch (Throwable t) {
+				Log.warn(t, "Error while placing shape, cancelling");
+				job.cancelled = true;
+			}
+
+			if (job.finished || job.cancelled) it.remove();
+		}
+	}
+
+	/**
+	 * Jobs hold block placers, which may reference world, so weak keys alone
+	 * can't release it
+	 */
+	@ForgeSubscribe
+	public void onWorldUnload(WorldEvent.Unload evt) {
+		List<Job> jobs = worlds.remove(evt.world);
+		if (jobs != null) {
+			for (Job job : jobs)
+				job.cancel();
+		}
+	}
+
+	@Override
+	public void tickStart(EnumSet<TickType> type, Object... tickData) {}
+
+	@Override
+	public void tickEnd(EnumSet<TickType> type, Object... tickData) {
+		if (type.contains(TickType.WORLD) && tickData.length > 0 && tickData[0] instanceof World) update((World)tickData[0]);
+	}
+
+	@Override
+	public EnumSet<TickType> ticks() {
+		return EnumSet.of(TickType.WORLD);
+	}
+
+	@Override
+	public String getLabel() {
+		return "OpenModsShapePlacer";
+	}
+}
@@ -3,10 +3,15 @@ package openmods.shapes;
 import openmods.utils.render.GeometryUtils;
 import openmods.utils.render.GeometryUtils.Octant;
 
-public class ShapeSphereGenerator implements IShapeGenerator {
+public class ShapeSphereGenerator extends BulkShapeGenerator {
 
 	@Override
-	public void generateShape(int radiusX, int radiusY, int radiusZ, IShapeable shapeable) {
+	public Object getCacheParameters() {
+		return NO_PARAMETERS;
+	}
+
+	@Override
+	public void generateShape(int radiusX, int radiusY, int radiusZ, IBulkShapeable shapeable) {
 		GeometryUtils.makeSphere(radiusX, radiusY, radiusZ, shapeable, Octant.ALL);
 	}
 }
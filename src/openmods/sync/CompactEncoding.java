@@ -0,0 +1,73 @@
+package openmods.sync;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+
+import openmods.utils.ByteUtils;
+
+/**
+ * Self-describing variable length encoding for scalar syncables. In change
+ * packets value is written either as absolute number or as difference from
+ * base (value sent in previous change packet), whichever is shorter. Full
+ * packets also carry base, so receivers that only got full state can still
+ * decode following changes. Lowest two bits of written number are tag.
+ */
+class CompactEncoding {
+
+	private static final int TAG_ABSOLUTE = 0;
+	private static final int TAG_DELTA = 1;
+	private static final int TAG_FULL = 2;
+
+	// value sent in last change packet, known by all receivers
+	private long syncBase;
+
+	// base for values received from other side
+	private long receiveBase;
+
+	public long getSyncBase() {
+		return syncBase;
+	}
+
+	/**
+	 * Writing change (i.e. {@code fullData == false}) updates base, so it
+	 * must be done once per change packet
+	 */
+	public void write(DataOutput output, long value, boolean fullData) {
+		if (fullData) {
+			writeFull(output, value, syncBase);
+		} else {
+			long absolute = ByteUtils.zigzagEncode(value);
+			long delta = ByteUtils.zigzagEncode(value - syncBase);
+			if (delta < absolute) writeTagged(output, delta, TAG_DELTA);
+			else writeTagged(output, absolute, TAG_ABSOLUTE);
+			syncBase = value;
+		}
+	}
+
+	private static void writeFull(DataOutput output, long value, long base) {
+		writeTagged(output, ByteUtils.zigzagEncode(value), TAG_FULL);
+		ByteUtils.writeVLL(output, ByteUtils.zigzagEncode(base - value));
+	}
+
+	private static void writeTagged(DataOutput output, long value, int tag) {
+		ByteUtils.writeVLL(output, (value << 2) | tag);
+	}
+
+	public long read(DataInput input) {
+		long raw = ByteUtils.readVLL(input);
+		long value = ByteUtils.zigzagDecode(raw >>> 2);
+		switch ((int)(raw & 3)) {
+			case TAG_DELTA:
+				value += receiveBase;
+				receiveBase = value;
+				break;
+			case TAG_FULL:
+				receiveBase = value + ByteUtils.zigzagDecode(ByteUtils.readVLL(input));
+				break;
+			default:
+				receiveBase = value;
+				break;
+		}
+		return value;
+	}
+}
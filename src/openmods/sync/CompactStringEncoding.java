@@ -0,0 +1,128 @@
+package openmods.sync;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+import openmods.utils.ByteUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * String counterpart of {@link CompactEncoding}. Both sides keep small LRU
+ * table of strings sent in change packets, so repeated values are sent as
+ * index. Other values are sent as difference (common prefix and suffix
+ * lengths plus middle part) from previous value, if that is shorter than
+ * whole string. Full packets carry whole table.
+ */
+class CompactStringEncoding {
+
+	private static final int TAG_LITERAL = 0;
+	private static final int TAG_REFERENCE = 1;
+	private static final int TAG_DIFF = 2;
+	private static final int TAG_FULL = 3;
+
+	private final int tableSize;
+
+	// strings sent in change packets, most recent first
+	private final LinkedList<String> sent = Lists.newLinkedList();
+
+	// strings received from other side, most recent first
+	private final LinkedList<String> received = Lists.newLinkedList();
+
+	public CompactStringEncoding(int tableSize) {
+		Preconditions.checkArgument(tableSize > 0, "Invalid table size: %s", tableSize);
+		this.tableSize = tableSize;
+	}
+
+	/**
+	 * Writing change (i.e. {@code fullData == false}) updates table, so it
+	 * must be done once per change packet
+	 */
+	public void write(DataOutput output, String value, boolean fullData) throws IOException {
+		if (fullData) {
+			writeFull(output, value, sent);
+			return;
+		}
+
+		final int index = sent.indexOf(value);
+		if (index >= 0) {
+			ByteUtils.writeVLI(output, TAG_REFERENCE);
+			ByteUtils.writeVLI(output, index);
+		} else {
+			final String base = sent.isEmpty()? "" : sent.getFirst();
+			final int maxCommon = Math.min(base.length(), value.length());
+
+			int prefix = 0;
+			while (prefix < maxCommon && base.charAt(prefix) == value.charAt(prefix))
+				prefix++;
+
+			int suffix = 0;
+			while (suffix < maxCommon - prefix && base.charAt(base.length() - suffix - 1) == value.charAt(value.length() - suffix - 1))
+				suffix++;
+
+			// rough estimate, but good enough to choose cheaper variant
+			if (prefix + suffix > 4) {
+				ByteUtils.writeVLI(output, TAG_DIFF);
+				ByteUtils.writeVLI(output, prefix);
+				ByteUtils.writeVLI(output, suffix);
+				output.writeUTF(value.substring(prefix, value.length() - suffix));
+			} else {
+				ByteUtils.writeVLI(output, TAG_LITERAL);
+				output.writeUTF(value);
+			}
+		}
+
+		touch(sent, value);
+	}
+
+	private static void writeFull(DataOutput output, String value, List<String> table) throws IOException {
+		ByteUtils.writeVLI(output, TAG_FULL);
+		ByteUtils.writeVLI(output, table.size());
+		for (String entry : table)
+			output.writeUTF(entry);
+		output.writeUTF(value);
+	}
+
+	public String read(DataInput input) throws IOException {
+		final int tag = ByteUtils.readVLI(input);
+		final String value;
+		switch (tag) {
+			case TAG_LITERAL:
+				value = input.readUTF();
+				break;
+			case TAG_REFERENCE:
+				value = received.get(ByteUtils.readVLI(input));
+				break;
+			case TAG_DIFF: {
+				final String base = received.isEmpty()? "" : received.getFirst();
+				final int prefix = ByteUtils.readVLI(input);
+				final int suffix = ByteUtils.readVLI(input);
+				final String middle = input.readUTF();
+				value = base.substring(0, prefix) + middle + base.substring(base.length() - suffix);
+				break;
+			}
+			case TAG_FULL: {
+				received.clear();
+				int count = ByteUtils.readVLI(input);
+				for (int i = 0; i < count; i++)
+					received.add(input.readUTF());
+				return input.readUTF();
+			}
+			default:
+				throw new IOException("Invalid string encoding tag: " + tag);
+		}
+
+		touch(received, value);
+		return value;
+	}
+
+	private void touch(LinkedList<String> table, String value) {
+		table.remove(value);
+		table.addFirst(value);
+		if (table.size() > tableSize) table.removeLast();
+	}
+}
@@ -14,9 +14,9 @@ import net.minecraft.network.packet.Packet;
 import net.minecraft.network.packet.Packet250CustomPayload;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
-import openmods.LibConfig;
 import openmods.Log;
 import openmods.OpenMods;
+import openmods.network.NetworkMetrics;
 import openmods.network.PacketHandler;
 import openmods.network.PacketLogger;
 import openmods.utils.ByteUtils;
@@ -103,6 +103,16 @@ public abstract class SyncMap<H extends ISyncHandler> {
 
 	private int index = 0;
 
+	/**
+	 * Incremented on every known change of synced values, used to validate
+	 * cached full-state packet
+	 */
+	private int version = 0;
+
+	private int cachedFullPacketVersion;
+
+	private Packet cachedFullPacket;
+
 	protected SyncMap(H handler) {
 		this.handler = handler;
 	}
@@ -110,6 +120,7 @@ public abstract class SyncMap<H extends ISyncHandler> {
 	public void put(String name, ISyncableObject value) {
 		nameMap.put(name, index);
 		objects[index++] = value;
+		version++;
 	}
 
 	public ISyncableObject get(String name) {
@@ -133,10 +144,21 @@ public abstract class SyncMap<H extends ISyncHandler> {
 				}
 			}
 		}
+		if (!changes.isEmpty()) version++;
 		return changes;
 	}
 
 	public int writeToStream(DataOutput dos, boolean regardless) throws IOException {
+		return writeToStream(dos, regardless, regardless);
+	}
+
+	/**
+	 * @param fullData
+	 *            if false, objects may encode values relative to previous
+	 *            change packet (valid only for packets sent to all already
+	 *            known users)
+	 */
+	private int writeToStream(DataOutput dos, boolean regardless, boolean fullData) throws IOException {
 		int count = 0;
 		short mask = 0;
 		for (int i = 0; i < 16; i++) {
@@ -146,7 +168,7 @@ public abstract class SyncMap<H extends ISyncHandler> {
 		dos.writeShort(mask);
 		for (int i = 0; i < 16; i++) {
 			if (objects[i] != null && (regardless || objects[i].isDirty())) {
-				objects[i].writeToStream(dos, regardless);
+				objects[i].writeToStream(dos, fullData);
 				objects[i].resetChangeTimer(getWorld());
 				count++;
 			}
@@ -177,30 +199,38 @@ public abstract class SyncMap<H extends ISyncHandler> {
 		Set<EntityPlayer> players = getPlayersWatching();
 		Set<ISyncableObject> changes = listChanges();
 		final boolean hasChanges = !changes.isEmpty();
+		if (hasChanges) version++;
 
 		if (!getWorld().isRemote) {
 			Packet changePacket = null;
 			Packet fullPacket = null;
 
 			try {
+				// change packet must be written first - it updates bases of
+				// relative encodings, which are also sent in full packets
+				List<EntityPlayer> newPlayers = Lists.newArrayList();
 				for (EntityPlayer player : players) {
 					if (knownUsers.contains(player.entityId)) {
 						if (hasChanges) {
 							if (changePacket == null) changePacket = createPacket(false, false);
-							OpenMods.proxy.sendPacketToPlayer((Player)player, changePacket);
+							sendToPlayer(player, changePacket);
 						}
-					} else {
-						knownUsers.add(player.entityId);
-						if (fullPacket == null) fullPacket = createPacket(true, false);
-						OpenMods.proxy.sendPacketToPlayer((Player)player, fullPacket);
-					}
+					} else newPlayers.add(player);
+				}
+
+				for (EntityPlayer player : newPlayers) {
+					knownUsers.add(player.entityId);
+					if (fullPacket == null) fullPacket = getFullPacket();
+					sendToPlayer(player, fullPacket);
 				}
 			} catch (IOException e) {
 				Log.warn(e, "IOError during downstream sync");
 			}
 		} else if (hasChanges) {
 			try {
-				OpenMods.proxy.sendPacketToServer(createPacket(false, true));
+				Packet packet = createPacket(false, true);
+				recordSent(packet);
+				OpenMods.proxy.sendPacketToServer(packet);
 			} catch (IOException e) {
 				Log.warn(e, "IOError during upstream sync");
 			}
@@ -211,6 +241,24 @@ public abstract class SyncMap<H extends ISyncHandler> {
 		return changes;
 	}
 
+	private void sendToPlayer(EntityPlayer player, Packet packet) {
+		recordSent(packet);
+		OpenMods.proxy.sendPacketToPlayer((Player)player, packet);
+	}
+
+	public void recordSent(Packet packet) {
+		final Packet250CustomPayload payload = (Packet250CustomPayload)packet;
+		NetworkMetrics.recordChannel(payload, false);
+		NetworkMetrics.recordSync(getHandlerType(), handler.getClass(), payload, false);
+	}
+
+	/**
+	 * Channel counter is already updated by {@link PacketHandler}
+	 */
+	public void recordReceived(Packet packet) {
+		NetworkMetrics.recordSync(getHandlerType(), handler.getClass(), (Packet250CustomPayload)packet, true);
+	}
+
 	private Set<ISyncableObject> listChanges() {
 		Set<ISyncableObject> changes = Sets.newIdentityHashSet();
 		for (ISyncableObject obj : objects) {
@@ -220,6 +268,27 @@ public abstract class SyncMap<H extends ISyncHandler> {
 		return changes;
 	}
 
+	/**
+	 * Returns packet with state of all objects (same as
+	 * {@code createPacket(true, false)}). Packet is reused until any object
+	 * is changed, so description packets for many players don't need to
+	 * serialize everything again.
+	 */
+	public Packet getFullPacket() throws IOException {
+		if (cachedFullPacket != null && cachedFullPacketVersion == version && !hasDirtyObjects()) return cachedFullPacket;
+
+		cachedFullPacket = createPacket(true, false);
+		cachedFullPacketVersion = version;
+		return cachedFullPacket;
+	}
+
+	private boolean hasDirtyObjects() {
+		for (ISyncableObject obj : objects)
+			if (obj != null && obj.isDirty()) return true;
+
+		return false;
+	}
+
 	public Packet createPacket(boolean fullPacket, boolean toServer) throws IOException {
 		ByteArrayDataOutput bos = ByteStreams.newDataOutput();
 		bos.writeBoolean(toServer);
@@ -230,13 +299,15 @@ public abstract class SyncMap<H extends ISyncHandler> {
 		HandlerType type = getHandlerType();
 		ByteUtils.writeVLI(bos, type.ordinal());
 		type.writeHandlerInfo(handler, bos);
-		int count = writeToStream(bos, fullPacket);
+		// upstream packets are never relative, since server may have
+		// received different values from other clients
+		int count = writeToStream(bos, fullPacket, fullPacket || toServer);
 		Packet250CustomPayload packet = new Packet250CustomPayload();
 		packet.channel = PacketHandler.CHANNEL_SYNC;
 		packet.data = bos.toByteArray();
 		packet.length = packet.data.length;
 
-		if (LibConfig.logPackets) PacketLogger.log(packet, false, handler.toString(), handler.getClass().toString(), Integer.toString(count));
+		if (PacketLogger.shouldLog()) PacketLogger.log(packet, false, handler.toString(), handler.getClass().toString(), Integer.toString(count));
 		return packet;
 	}
 
@@ -273,6 +344,7 @@ public abstract class SyncMap<H extends ISyncHandler> {
 	}
 
 	public void readFromNBT(NBTTagCompound tag) {
+		version++;
 		for (Entry<String, Integer> entry : nameMap.entrySet()) {
 			int index = entry.getValue();
 			String name = entry.getKey();
@@ -58,5 +58,4 @@ public class SyncableByteArray extends SyncableObjectBase {
 	public void readFromNBT(NBTTagCompound nbt, String name) {
 		nbt.getByteArray(name);
 	}
-
 }
@@ -46,5 +46,4 @@ public class SyncableDirection extends SyncableObjectBase {
 	public void readFromNBT(NBTTagCompound tag, String name) {
 		value = ForgeDirection.getOrientation(tag.getByte(name));
 	}
-
 }
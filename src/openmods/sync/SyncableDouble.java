@@ -6,10 +6,18 @@ import java.io.IOException;
 
 import net.minecraft.nbt.NBTTagCompound;
 
+import com.google.common.base.Preconditions;
+
 public class SyncableDouble extends SyncableObjectBase {
 
+	private static final long QUANTIZED_LIMIT = 1L << 58;
+
 	private double value;
 
+	private double quantizationStep = 0;
+
+	private final CompactEncoding compact = new CompactEncoding();
+
 	public SyncableDouble(double value) {
 		this.value = value;
 	}
@@ -27,14 +35,35 @@ public class SyncableDouble extends SyncableObjectBase {
 		return value;
 	}
 
+	/**
+	 * Values will be sent as multiples of {@code step}, in variable length
+	 * encoding. Intended for values that are only displayed. Must be set
+	 * to same value on both sides
+	 */
+	public SyncableDouble setQuantization(double step) {
+		Preconditions.checkArgument(step > 0, "Invalid quantization step: %s", step);
+		this.quantizationStep = step;
+		return this;
+	}
+
+	private long quantize(double v) {
+		long q = Math.round(v / quantizationStep);
+		return Math.max(-QUANTIZED_LIMIT, Math.min(QUANTIZED_LIMIT, q));
+	}
+
 	@Override
 	public void readFromStream(DataInput stream) throws IOException {
-		value = stream.readDouble();
+		if (quantizationStep > 0) {
+			value = (double)(compact.read(stream) * quantizationStep);
+		} else {
+			value = stream.readDouble();
+		}
 	}
 
 	@Override
 	public void writeToStream(DataOutput stream, boolean fullData) throws IOException {
-		stream.writeDouble(value);
+		if (quantizationStep > 0) compact.write(stream, quantize(value), fullData);
+		else stream.writeDouble(value);
 	}
 
 	@Override
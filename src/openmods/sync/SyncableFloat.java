@@ -6,11 +6,20 @@ import java.io.IOException;
 
 import net.minecraft.nbt.NBTTagCompound;
 
+import com.google.common.base.Preconditions;
+
 public class SyncableFloat extends SyncableObjectBase {
 
 	public static final float EPSILON = 0.0001f;
+
+	private static final long QUANTIZED_LIMIT = 1L << 58;
+
 	private float value;
 
+	private float quantizationStep = 0;
+
+	private final CompactEncoding compact = new CompactEncoding();
+
 	public SyncableFloat(float value) {
 		this.value = value;
 	}
@@ -32,14 +41,35 @@ public class SyncableFloat extends SyncableObjectBase {
 		return Math.abs(otherValue - value) < EPSILON;
 	}
 
+	/**
+	 * Values will be sent as multiples of {@code step}, in variable length
+	 * encoding. Intended for values that are only displayed. Must be set
+	 * to same value on both sides
+	 */
+	public SyncableFloat setQuantization(float step) {
+		Preconditions.checkArgument(step > 0, "Invalid quantization step: %s", step);
+		this.quantizationStep = step;
+		return this;
+	}
+
+	private long quantize(float v) {
+		long q = Math.round(v / quantizationStep);
+		return Math.max(-QUANTIZED_LIMIT, Math.min(QUANTIZED_LIMIT, q));
+	}
+
 	@Override
 	public void readFromStream(DataInput stream) throws IOException {
-		value = stream.readFloat();
+		if (quantizationStep > 0) {
+			value = (float)(compact.read(stream) * quantizationStep);
+		} else {
+			value = stream.readFloat();
+		}
 	}
 
 	@Override
 	public void writeToStream(DataOutput stream, boolean fullData) throws IOException {
-		stream.writeFloat(value);
+		if (quantizationStep > 0) compact.write(stream, quantize(value), fullData);
+		else stream.writeFloat(value);
 	}
 
 	@Override
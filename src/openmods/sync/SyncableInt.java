@@ -8,17 +8,41 @@ import net.minecraft.nbt.NBTTagCompound;
 
 public class SyncableInt extends SyncableObjectBase {
 
+	public enum Encoding {
+		/**
+		 * Always 4 bytes
+		 */
+		FIXED,
+		/**
+		 * Variable length, absolute or delta from last synced value
+		 */
+		COMPACT
+	}
+
 	protected int value = 0;
 
+	private Encoding encoding = Encoding.FIXED;
+
+	private final CompactEncoding compact = new CompactEncoding();
+
 	public SyncableInt(int value) {
 		this.value = value;
 	}
 
 	public SyncableInt() {}
 
+	/**
+	 * Must be set to same value on both sides
+	 */
+	public SyncableInt setEncoding(Encoding encoding) {
+		this.encoding = encoding;
+		return this;
+	}
+
 	@Override
 	public void readFromStream(DataInput stream) throws IOException {
-		value = stream.readInt();
+		if (encoding == Encoding.COMPACT) value = (int)compact.read(stream);
+		else value = stream.readInt();
 	}
 
 	public void modify(int by) {
@@ -38,7 +62,8 @@ public class SyncableInt extends SyncableObjectBase {
 
 	@Override
 	public void writeToStream(DataOutput stream, boolean fullData) throws IOException {
-		stream.writeInt(value);
+		if (encoding == Encoding.COMPACT) compact.write(stream, value, fullData);
+		else stream.writeInt(value);
 	}
 
 	@Override
@@ -52,5 +77,4 @@ public class SyncableInt extends SyncableObjectBase {
 			value = tag.getInteger(name);
 		}
 	}
-
 }
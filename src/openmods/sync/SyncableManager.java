@@ -6,9 +6,10 @@ import java.util.Set;
 
 import net.minecraft.network.packet.Packet250CustomPayload;
 import net.minecraft.world.World;
-import openmods.LibConfig;
 import openmods.OpenMods;
 import openmods.network.PacketLogger;
+import openmods.tileentity.TileProfiler;
+import openmods.tileentity.TileProfiler.Operation;
 
 import com.google.common.io.ByteStreams;
 
@@ -29,10 +30,14 @@ public class SyncableManager {
 
 		ISyncHandler handler = SyncMap.findSyncMap(world, input);
 		if (handler != null) {
-			Set<ISyncableObject> changes = handler.getSyncMap().readFromStream(input);
+			final SyncMap<?> syncMap = handler.getSyncMap();
+			syncMap.recordReceived(packet);
+			Set<ISyncableObject> changes = syncMap.readFromStream(input);
+			final long start = TileProfiler.start();
 			handler.onSynced(changes);
+			if (start != 0) TileProfiler.record(handler, Operation.ON_SYNCED, start);
 
-			if (LibConfig.logPackets) PacketLogger.log(packet, true, handler.toString(), handler.getClass().toString(), Integer.toString(changes.size()));
+			if (PacketLogger.shouldLog()) PacketLogger.log(packet, true, handler.toString(), handler.getClass().toString(), Integer.toString(changes.size()));
 		}
 
 	}
@@ -10,6 +10,8 @@ public class SyncableString extends SyncableObjectBase {
 
 	private String value;
 
+	private CompactStringEncoding compact;
+
 	public SyncableString() {
 		this("");
 	}
@@ -29,15 +31,28 @@ public class SyncableString extends SyncableObjectBase {
 		return value;
 	}
 
+	/**
+	 * Enables table of recently synced strings: repeated values are sent as
+	 * small index, others as difference from previous value when possible.
+	 * Intended for values switching between few labels. Must be set to same
+	 * value on both sides
+	 */
+	public SyncableString setRecentValuesTable(int size) {
+		this.compact = new CompactStringEncoding(size);
+		return this;
+	}
+
 	@Override
 	public void readFromStream(DataInput stream) throws IOException {
-		value = stream.readUTF();
+		if (compact != null) value = compact.read(stream);
+		else value = stream.readUTF();
 	}
 
 	@Override
 	public void writeToStream(DataOutput stream, boolean fullData)
 			throws IOException {
-		stream.writeUTF(value);
+		if (compact != null) compact.write(stream, value, fullData);
+		else stream.writeUTF(value);
 	}
 
 	@Override
@@ -53,5 +68,4 @@ public class SyncableString extends SyncableObjectBase {
 	public void clear() {
 		setValue("");
 	}
-
 }
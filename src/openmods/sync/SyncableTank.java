@@ -113,6 +113,15 @@ public class SyncableTank extends GenericTank implements ISyncableObject {
 		return drained;
 	}
 
+	@Override
+	public boolean setContents(FluidStack template, int amount) {
+		boolean changed = super.setContents(template, amount);
+		if (changed) {
+			markDirty();
+		}
+		return changed;
+	}
+
 	@Override
 	public void resetChangeTimer(World world) {
 		ticksSinceChange = OpenMods.proxy.getTicks(world);
@@ -0,0 +1,151 @@
+package openmods.tileentity;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import net.minecraft.command.ICommand;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.util.ChatMessageComponent;
+import openmods.Log;
+import openmods.OpenMods;
+import openmods.tileentity.TileProfiler.Stats;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class CommandTileProfiler implements ICommand {
+
+	private static final String COMMAND_START = "start";
+	private static final String COMMAND_STOP = "stop";
+	private static final String COMMAND_RESET = "reset";
+	private static final String COMMAND_CLASSES = "classes";
+	private static final String COMMAND_CHUNKS = "chunks";
+	private static final String COMMAND_DUMP = "dump";
+
+	private static final List<String> SUBCOMMANDS = ImmutableList.of(
+			COMMAND_START,
+			COMMAND_STOP,
+			COMMAND_RESET,
+			COMMAND_CLASSES,
+			COMMAND_CHUNKS,
+			COMMAND_DUMP);
+
+	private static final String DUMP_FILE_NAME = "open-mods-tile-profile.txt";
+
+	private static final int DEFAULT_LIMIT = 10;
+
+	private final String name;
+
+	public CommandTileProfiler(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public int compareTo(Object o) {
+		return name.compareTo(((ICommand)o).getCommandName());
+	}
+
+	@Override
+	public String getCommandName() {
+		return name;
+	}
+
+	@Override
+	public String getCommandUsage(ICommandSender icommandsender) {
+		return name + " start OR\n" +
+				name + " stop OR\n" +
+				name + " reset OR\n" +
+				name + " classes [limit] OR\n" +
+				name + " chunks [limit] OR\n" +
+				name + " dump";
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List getCommandAliases() {
+		return null;
+	}
+
+	private static void respond(ICommandSender sender, String format) {
+		sender.sendChatToPlayer(ChatMessageComponent.createFromTranslationKey(format));
+	}
+
+	private static void respond(ICommandSender sender, String format, Object... args) {
+		sender.sendChatToPlayer(ChatMessageComponent.createFromTranslationWithSubstitutions(format, args));
+	}
+
+	@Override
+	public void processCommand(ICommandSender sender, String[] args) {
+		if (args.length < 1) {
+			respond(sender, "openmodslib.command.no_enough_args");
+			return;
+		}
+
+		final String command = args[0];
+
+		if (COMMAND_START.equals(command)) {
+			TileProfiler.setEnabled(true);
+			respond(sender, "openmodslib.command.profiler_started");
+		} else if (COMMAND_STOP.equals(command)) {
+			TileProfiler.setEnabled(false);
+			respond(sender, "openmodslib.command.profiler_stopped");
+		} else if (COMMAND_RESET.equals(command)) {
+			TileProfiler.reset();
+			respond(sender, "openmodslib.command.metrics_reset");
+		} else if (COMMAND_CLASSES.equals(command) || COMMAND_CHUNKS.equals(command)) {
+			int limit = DEFAULT_LIMIT;
+			if (args.length > 1) {
+				try {
+					limit = Integer.parseInt(args[1]);
+				} catch (NumberFormatException e) {
+					limit = 0;
+				}
+
+				if (limit < 1) {
+					respond(sender, "openmodslib.command.invalid_type", args[1], "positive integer");
+					return;
+				}
+			}
+
+			List<Map.Entry<String, Stats>> stats = COMMAND_CLASSES.equals(command)? TileProfiler.getClassStats() : TileProfiler.getChunkStats();
+			for (Map.Entry<String, Stats> e : stats.subList(0, Math.min(limit, stats.size())))
+				respond(sender, "%s: %s", e.getKey(), e.getValue().toString());
+		} else if (COMMAND_DUMP.equals(command)) {
+			File output = new File(OpenMods.proxy.getMinecraftDir(), DUMP_FILE_NAME);
+			try {
+				TileProfiler.dump(output);
+				respond(sender, "openmodslib.command.profile_saved", output.getAbsolutePath());
+			} catch (IOException e) {
+				respond(sender, "openmodslib.command.unknown_error", e.getMessage());
+				Log.warn(e, "Failed to write tile profiler data");
+			}
+		} else {
+			respond(sender, "openmodslib.command.invalid_command", command);
+		}
+	}
+
+	@Override
+	public boolean canCommandSenderUseCommand(ICommandSender sender) {
+		return sender.canCommandSenderUseCommand(4, name);
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+		if (args.length != 1) return null;
+
+		String prefix = args[0].toLowerCase();
+		List<String> result = Lists.newArrayList();
+		for (String s : SUBCOMMANDS)
+			if (s.startsWith(prefix)) result.add(s);
+
+		return result;
+	}
+
+	@Override
+	public boolean isUsernameIndex(String[] astring, int i) {
+		return false;
+	}
+
+}
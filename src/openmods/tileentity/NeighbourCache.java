@@ -0,0 +1,64 @@
+package openmods.tileentity;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeDirection;
+
+/**
+ * Per-tile cache of neighbour tile lookups. Entries are cleared on
+ * neighbour change and expire after {@link #TTL} ticks, since some world
+ * changes don't notify neighbours. Neighbour chunk unloading is not
+ * notified either, so every hit still checks if block is loaded.
+ */
+class NeighbourCache {
+
+	private static final int TTL = 20;
+
+	private static final int SIDES = ForgeDirection.VALID_DIRECTIONS.length;
+
+	private static final long INVALID = -1;
+
+	@SuppressWarnings("unchecked")
+	private final WeakReference<TileEntity>[] tiles = new WeakReference[SIDES];
+
+	private final long[] tileTimestamps = new long[SIDES];
+
+	public NeighbourCache() {
+		invalidate();
+	}
+
+	public void invalidate() {
+		Arrays.fill(tiles, null);
+		Arrays.fill(tileTimestamps, INVALID);
+	}
+
+	private static boolean isValid(long timestamp, long now) {
+		return timestamp != INVALID && now >= timestamp && now - timestamp < TTL;
+	}
+
+	public TileEntity getTile(World world, int x, int y, int z, ForgeDirection direction) {
+		final int side = direction.ordinal();
+		final long now = world.getTotalWorldTime();
+
+		if (!world.blockExists(x, y, z)) {
+			// don't cache, chunk may be loaded later
+			tileTimestamps[side] = INVALID;
+			return null;
+		}
+
+		if (isValid(tileTimestamps[side], now)) {
+			WeakReference<TileEntity> ref = tiles[side];
+			if (ref == null) return null;
+			TileEntity cached = ref.get();
+			if (cached != null && !cached.isInvalid()) return cached;
+		}
+
+		TileEntity result = world.getBlockTileEntity(x, y, z);
+		tiles[side] = result != null? new WeakReference<TileEntity>(result) : null;
+		tileTimestamps[side] = now;
+		return result;
+	}
+}
@@ -1,5 +1,9 @@
 package openmods.tileentity;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.tileentity.TileEntity;
@@ -8,14 +12,34 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeDirection;
 import openmods.block.OpenBlock;
 import openmods.network.events.TileEntityMessageEventPacket;
+
+import com.google.common.collect.Lists;
+
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
 public abstract class OpenTileEntity extends TileEntity {
 
+	/**
+	 * Events that can wake sleeping tile
+	 */
+	public enum WakeCondition {
+		NEIGHBOUR_CHANGE,
+		INVENTORY_CHANGE,
+		EVENT
+	}
+
 	private boolean initialized = false;
 	private boolean isActive = false;
 
+	private boolean isSleeping = false;
+	private int sleepGeneration = 0;
+	private EnumSet<WakeCondition> wakeConditions = EnumSet.noneOf(WakeCondition.class);
+
+	private List<TileTaskScheduler.Task> scheduledTasks;
+
+	private final NeighbourCache neighbourCache = new NeighbourCache();
+
 	private boolean isUsedForClientInventoryRendering = false;
 
 	/** set up the tile entity! called once upon creation */
@@ -49,6 +73,7 @@ public abstract class OpenTileEntity extends TileEntity {
 
 	@Override
 	public void updateEntity() {
+		TileProfiler.markUpdate(this);
 		isActive = true;
 		if (!initialized) {
 			initialize();
@@ -78,18 +103,108 @@ public abstract class OpenTileEntity extends TileEntity {
 	@Override
 	public void onChunkUnload() {
 		isActive = false;
+		cancelSleep();
+		cancelScheduledTasks();
+	}
+
+	@Override
+	public void invalidate() {
+		super.invalidate();
+		neighbourCache.invalidate();
+		cancelSleep();
+		cancelScheduledTasks();
+	}
+
+	/**
+	 * Register task to be run every {@code period} ticks, on server side.
+	 * Unlike {@code ticks % period == 0} checks, scheduler will spread tasks
+	 * of different tiles over different ticks. Tasks are cancelled when tile
+	 * is unloaded or invalidated.
+	 * 
+	 * @return task handle, or null if called on client side
+	 */
+	public TileTaskScheduler.Task schedulePeriodicTask(int period, Runnable task) {
+		if (worldObj != null && worldObj.isRemote) return null;
+		TileTaskScheduler.Task result = TileTaskScheduler.schedule(this, period, task);
+		if (scheduledTasks == null) scheduledTasks = Lists.newArrayList();
+		scheduledTasks.add(result);
+		return result;
+	}
+
+	public void cancelScheduledTasks() {
+		if (scheduledTasks != null) {
+			for (TileTaskScheduler.Task task : scheduledTasks)
+				task.cancel();
+			scheduledTasks = null;
+		}
+	}
+
+	private void cancelSleep() {
+		if (isSleeping) {
+			isSleeping = false;
+			// manager will drop this tile, since it's no longer in world
+			TileSleepManager.scheduleWake(this);
+		}
+	}
+
+	/**
+	 * Removes tile from world tick list (from next tick) until it's woken by
+	 * timeout or one of conditions. Server side only.
+	 * 
+	 * @param ticks
+	 *            number of ticks to sleep, or negative value to sleep until
+	 *            woken by condition
+	 */
+	public void sleep(int ticks, WakeCondition... conditions) {
+		if (worldObj == null || worldObj.isRemote) return;
+
+		wakeConditions = conditions.length > 0? EnumSet.copyOf(Arrays.asList(conditions)) : EnumSet.noneOf(WakeCondition.class);
+		isSleeping = true;
+		sleepGeneration++;
+
+		long wakeTick = ticks >= 0? worldObj.getTotalWorldTime() + ticks : -1;
+		TileSleepManager.scheduleSleep(this, wakeTick, sleepGeneration);
+	}
+
+	public boolean isSleeping() {
+		return isSleeping;
+	}
+
+	public void wakeUp() {
+		if (!isSleeping) return;
+		isSleeping = false;
+		TileSleepManager.scheduleWake(this);
+		onWakeUp();
 	}
 
+	public void wakeUp(WakeCondition condition) {
+		if (isSleeping && wakeConditions.contains(condition)) wakeUp();
+	}
+
+	void onSleepTimeout(int generation) {
+		if (generation == sleepGeneration) wakeUp();
+	}
+
+	/**
+	 * Called when sleeping tile is woken. Tile will be updated again from
+	 * next tick
+	 */
+	protected void onWakeUp() {}
+
 	public TileEntity getTileInDirection(ForgeDirection direction) {
+		if (worldObj == null) return null;
 		int x = xCoord + direction.offsetX;
 		int y = yCoord + direction.offsetY;
 		int z = zCoord + direction.offsetZ;
-		/*
-		 * TODO: Mikee, getBlockTileEntity returns null anyway, why the extra
-		 * block check ?
-		 */
-		if (worldObj != null && worldObj.blockExists(x, y, z)) { return worldObj.getBlockTileEntity(x, y, z); }
-		return null;
+		return neighbourCache.getTile(worldObj, x, y, z, direction);
+	}
+
+	/**
+	 * Clears cached neighbour lookups. Called by {@link OpenBlock} on
+	 * neighbour change
+	 */
+	public void invalidateNeighbourCache() {
+		neighbourCache.invalidate();
 	}
 
 	@Override
@@ -8,6 +8,7 @@ import net.minecraft.network.packet.Packet;
 import net.minecraftforge.common.ForgeDirection;
 import openmods.Log;
 import openmods.sync.*;
+import openmods.tileentity.TileProfiler.Operation;
 
 public abstract class SyncedTileEntity extends OpenTileEntity implements ISyncHandler {
 
@@ -26,8 +27,10 @@ public abstract class SyncedTileEntity extends OpenTileEntity implements ISyncHa
 	}
 
 	public void sync() {
+		final long start = TileProfiler.start();
 		Set<ISyncableObject> changed = syncMap.sync();
 		if (!changed.isEmpty()) onServerSync(changed);
+		if (start != 0) TileProfiler.record(this, Operation.SYNC, start);
 	}
 
 	public void onServerSync(Set<ISyncableObject> changed) {}
@@ -40,7 +43,9 @@ public abstract class SyncedTileEntity extends OpenTileEntity implements ISyncHa
 	@Override
 	public Packet getDescriptionPacket() {
 		try {
-			return syncMap.createPacket(true, false);
+			Packet packet = syncMap.getFullPacket();
+			syncMap.recordSent(packet);
+			return packet;
 		} catch (IOException e) {
 			Log.severe(e, "Error during description packet creation");
 			return null;
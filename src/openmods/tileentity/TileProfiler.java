@@ -0,0 +1,272 @@
+package openmods.tileentity;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+
+import cpw.mods.fml.common.ITickHandler;
+import cpw.mods.fml.common.TickType;
+
+/**
+ * Opt-in, server side profiler for OpenMods tile entities.
+ * 
+ * Every operation is timed from entry to exit. Subclasses call
+ * {@link OpenTileEntity#updateEntity()} before doing their own work, so
+ * updates are timed by world instead: while profiler is enabled, world tile
+ * list is replaced with one that measures time between iterator steps. Step
+ * is recorded only if it actually called {@link OpenTileEntity#updateEntity()}
+ * (other code iterating over list is ignored). Update time includes sync
+ * done during update.
+ * 
+ * Stats are keyed by class and packed chunk position, keys are formatted
+ * only for reports.
+ */
+public class TileProfiler {
+
+	public enum Operation {
+		UPDATE,
+		SYNC,
+		ON_SYNCED,
+		EVENT;
+
+		private static final Operation[] VALUES = values();
+	}
+
+	public static class Stats {
+		private final AtomicLong[] counts = new AtomicLong[Operation.VALUES.length];
+		private final AtomicLong[] times = new AtomicLong[Operation.VALUES.length];
+
+		private Stats() {
+			for (int i = 0; i < Operation.VALUES.length; i++) {
+				counts[i] = new AtomicLong();
+				times[i] = new AtomicLong();
+			}
+		}
+
+		private void add(Operation op, long time) {
+			counts[op.ordinal()].incrementAndGet();
+			times[op.ordinal()].addAndGet(time);
+		}
+
+		public long getCount(Operation op) {
+			return counts[op.ordinal()].get();
+		}
+
+		public long getTime(Operation op) {
+			return times[op.ordinal()].get();
+		}
+
+		public long getTotalTime() {
+			long result = 0;
+			for (AtomicLong time : times)
+				result += time.get();
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder();
+			for (Operation op : Operation.VALUES) {
+				if (result.length() > 0) result.append(", ");
+				result.append(String.format("%s: %d/%.3f ms", op.name().toLowerCase(), getCount(op), getTime(op) / 1000000.0));
+			}
+			return result.toString();
+		}
+	}
+
+	private static volatile boolean enabled;
+
+	// last tile that entered update, server thread only
+	private static TileEntity updatedTile;
+
+	private static final ConcurrentMap<Class<?>, Stats> classStats = Maps.newConcurrentMap();
+
+	private static final ConcurrentMap<Long, Stats> chunkStats = Maps.newConcurrentMap();
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		TileProfiler.enabled = enabled;
+	}
+
+	public static void reset() {
+		classStats.clear();
+		chunkStats.clear();
+	}
+
+	private static <K> Stats getStats(ConcurrentMap<K, Stats> map, K key) {
+		Stats result = map.get(key);
+		if (result == null) {
+			Stats newStats = new Stats();
+			result = map.putIfAbsent(key, newStats);
+			if (result == null) result = newStats;
+		}
+		return result;
+	}
+
+	// 16 bits of dimension, 24 bits for each chunk coordinate
+	private static long chunkKey(TileEntity tile) {
+		final World world = tile.worldObj;
+		final long dimension = world != null? world.provider.dimensionId : 0;
+		final long chunkX = tile.xCoord >> 4;
+		final long chunkZ = tile.zCoord >> 4;
+		return ((dimension & 0xFFFF) << 48) | ((chunkX & 0xFFFFFF) << 24) | (chunkZ & 0xFFFFFF);
+	}
+
+	private static String formatChunkKey(long key) {
+		final int dimension = (int)(key >> 48);
+		final int chunkX = (int)(key << 16 >> 40);
+		final int chunkZ = (int)(key << 40 >> 40);
+		return String.format("%d:%d,%d", dimension, chunkX, chunkZ);
+	}
+
+	public static void record(Object handler, Operation op, long startTime) {
+		final long time = System.nanoTime() - startTime;
+		getStats(classStats, handler.getClass()).add(op, time);
+		if (handler instanceof TileEntity) getStats(chunkStats, chunkKey((TileEntity)handler)).add(op, time);
+	}
+
+	/**
+	 * @return start time, to be passed to {@link #record}, or 0 if
+	 *         profiler is disabled
+	 */
+	public static long start() {
+		return enabled? System.nanoTime() : 0;
+	}
+
+	static void markUpdate(TileEntity tile) {
+		if (enabled && tile.worldObj != null && !tile.worldObj.isRemote) updatedTile = tile;
+	}
+
+	private static class ProfilingTileList extends ArrayList<TileEntity> {
+		private static final long serialVersionUID = 1L;
+
+		private ProfilingTileList(Collection<TileEntity> tiles) {
+			super(tiles);
+		}
+
+		@Override
+		public Iterator<TileEntity> iterator() {
+			final Iterator<TileEntity> it = super.iterator();
+			return new Iterator<TileEntity>() {
+				private TileEntity current;
+				private long start;
+
+				private void finish() {
+					if (current != null) {
+						if (updatedTile == current) {
+							record(current, Operation.UPDATE, start);
+							updatedTile = null;
+						}
+						current = null;
+					}
+				}
+
+				@Override
+				public boolean hasNext() {
+					boolean result = it.hasNext();
+					if (!result) finish();
+					return result;
+				}
+
+				@Override
+				public TileEntity next() {
+					finish();
+					current = it.next();
+					start = System.nanoTime();
+					return current;
+				}
+
+				@Override
+				public void remove() {
+					finish();
+					it.remove();
+				}
+			};
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void updateTileList(World world) {
+		final boolean installed = world.loadedTileEntityList instanceof ProfilingTileList;
+		if (enabled && !installed) world.loadedTileEntityList = new ProfilingTileList(world.loadedTileEntityList);
+		else if (!enabled && installed) world.loadedTileEntityList = new ArrayList<TileEntity>(world.loadedTileEntityList);
+	}
+
+	private static List<Map.Entry<String, Stats>> sorted(Map<String, Stats> stats) {
+		List<Map.Entry<String, Stats>> result = Lists.newArrayList(stats.entrySet());
+		Collections.sort(result, new Comparator<Map.Entry<String, Stats>>() {
+			@Override
+			public int compare(Map.Entry<String, Stats> o1, Map.Entry<String, Stats> o2) {
+				return Longs.compare(o2.getValue().getTotalTime(), o1.getValue().getTotalTime());
+			}
+		});
+		return result;
+	}
+
+	public static List<Map.Entry<String, Stats>> getClassStats() {
+		Map<String, Stats> result = Maps.newHashMap();
+		for (Map.Entry<Class<?>, Stats> e : classStats.entrySet())
+			result.put(e.getKey().getName(), e.getValue());
+		return sorted(result);
+	}
+
+	public static List<Map.Entry<String, Stats>> getChunkStats() {
+		Map<String, Stats> result = Maps.newHashMap();
+		for (Map.Entry<Long, Stats> e : chunkStats.entrySet())
+			result.put(formatChunkKey(e.getKey()), e.getValue());
+		return sorted(result);
+	}
+
+	public static void dump(File output) throws IOException {
+		PrintWriter writer = new PrintWriter(new FileWriter(output));
+		try {
+			writer.println("# classes");
+			for (Map.Entry<String, Stats> e : getClassStats())
+				writer.println(e.getKey() + "\t" + e.getValue());
+
+			writer.println("# chunks");
+			for (Map.Entry<String, Stats> e : getChunkStats())
+				writer.println(e.getKey() + "\t" + e.getValue());
+		} finally {
+			writer.close();
+		}
+	}
+
+	public static class TickHandler implements ITickHandler {
+
+		@Override
+		public void tickStart(EnumSet<TickType> type, Object... tickData) {
+			if (type.contains(TickType.WORLD) && tickData.length > 0 && tickData[0] instanceof World) {
+				World world = (World)tickData[0];
+				if (!world.isRemote) updateTileList(world);
+			}
+		}
+
+		@Override
+		public void tickEnd(EnumSet<TickType> type, Object... tickData) {}
+
+		@Override
+		public EnumSet<TickType> ticks() {
+			return EnumSet.of(TickType.WORLD);
+		}
+
+		@Override
+		public String getLabel() {
+			return "OpenModsTileProfiler";
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package openmods.tileentity;
+
+import java.util.*;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.event.ForgeSubscribe;
+import net.minecraftforge.event.world.WorldEvent;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import cpw.mods.fml.common.ITickHandler;
+import cpw.mods.fml.common.TickType;
+
+/**
+ * Removes sleeping {@link OpenTileEntity} instances from world tick list
+ * and puts them back when woken. All list modifications are done at start
+ * of world tick, never while world is iterating over tile entities.
+ */
+public class TileSleepManager implements ITickHandler {
+
+	private static class Timer {
+		public final long wakeTick;
+		public final OpenTileEntity tile;
+		public final int generation;
+
+		private Timer(long wakeTick, OpenTileEntity tile, int generation) {
+			this.wakeTick = wakeTick;
+			this.tile = tile;
+			this.generation = generation;
+		}
+	}
+
+	private static final Comparator<Timer> TIMER_ORDER = new Comparator<Timer>() {
+		@Override
+		public int compare(Timer o1, Timer o2) {
+			if (o1.wakeTick < o2.wakeTick) return -1;
+			if (o1.wakeTick > o2.wakeTick) return 1;
+			return 0;
+		}
+	};
+
+	private static class WorldState {
+		private final Set<TileEntity> toSleep = Sets.newIdentityHashSet();
+		private final List<OpenTileEntity> toWake = Lists.newArrayList();
+		private final Set<OpenTileEntity> removed = Sets.newIdentityHashSet();
+		private final PriorityQueue<Timer> timers = new PriorityQueue<Timer>(16, TIMER_ORDER);
+	}
+
+	private static final Map<World, WorldState> worlds = new WeakHashMap<World, WorldState>();
+
+	private static WorldState getState(World world) {
+		WorldState state = worlds.get(world);
+		if (state == null) {
+			state = new WorldState();
+			worlds.put(world, state);
+		}
+		return state;
+	}
+
+	static void scheduleSleep(OpenTileEntity tile, long wakeTick, int generation) {
+		WorldState state = getState(tile.worldObj);
+		state.toSleep.add(tile);
+		if (wakeTick >= 0) state.timers.add(new Timer(wakeTick, tile, generation));
+	}
+
+	static void scheduleWake(OpenTileEntity tile) {
+		// no state - nothing sleeps (or world was already unloaded)
+		WorldState state = worlds.get(tile.worldObj);
+		if (state != null && !state.toSleep.remove(tile)) state.toWake.add(tile);
+	}
+
+	private static boolean isStillInWorld(World world, TileEntity tile) {
+		return !tile.isInvalid()
+				&& world.blockExists(tile.xCoord, tile.yCoord, tile.zCoord)
+				&& world.getBlockTileEntity(tile.xCoord, tile.yCoord, tile.zCoord) == tile;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void update(World world) {
+		WorldState state = worlds.get(world);
+		if (state == null) return;
+
+		final long now = world.getTotalWorldTime();
+		Timer timer;
+		while ((timer = state.timers.peek()) != null && timer.wakeTick <= now) {
+			state.timers.poll();
+			timer.tile.onSleepTimeout(timer.generation);
+		}
+
+		if (!state.toWake.isEmpty()) {
+			for (OpenTileEntity tile : state.toWake) {
+				if (state.removed.remove(tile) && isStillInWorld(world, tile)) world.loadedTileEntityList.add(tile);
+			}
+			state.toWake.clear();
+		}
+
+		if (!state.toSleep.isEmpty()) {
+			world.loadedTileEntityList.removeAll(state.toSleep);
+			for (TileEntity tile : state.toSleep)
+				state.removed.add((OpenTileEntity)tile);
+			state.toSleep.clear();
+		}
+	}
+
+	/**
+	 * State holds tiles, which reference world, so weak keys alone never
+	 * release it
+	 */
+	@ForgeSubscribe
+	public void onWorldUnload(WorldEvent.Unload evt) {
+		worlds.remove(evt.world);
+	}
+
+	@Override
+	public void tickStart(EnumSet<TickType> type, Object... tickData) {
+		if (type.contains(TickType.WORLD) && tickData.length > 0 && tickData[0] instanceof World) update((World)tickData[0]);
+	}
+
+	@Override
+	public void tickEnd(EnumSet<TickType> type, Object... tickData) {}
+
+	@Override
+	public EnumSet<TickType> ticks() {
+		return EnumSet.of(TickType.WORLD);
+	}
+
+	@Override
+	public String getLabel() {
+		return "OpenModsTileSleepManager";
+	}
+
+}
@@ -0,0 +1,177 @@
+package openmods.tileentity;
+
+import java.util.*;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.ForgeSubscribe;
+import net.minecraftforge.event.world.WorldEvent;
+import openmods.LibConfig;
+import openmods.Log;
+
+import com.google.common.base.Preconditions;
+
+import cpw.mods.fml.common.ITickHandler;
+import cpw.mods.fml.common.TickType;
+
+/**
+ * Runs periodic tile tasks. Tasks with same period are spread over
+ * different ticks (instead of every tile doing work on
+ * {@code ticks % period == 0}) and every tick has time budget
+ * ({@link LibConfig#tileTaskBudget}). Tasks that don't fit in budget are
+ * deferred to next tick.
+ */
+public class TileTaskScheduler implements ITickHandler {
+
+	private static final int LOAD_SLOTS = 20;
+
+	public static class Task {
+		private final OpenTileEntity owner;
+		private final Runnable action;
+		private final int period;
+		private long nextRun;
+		private boolean cancelled;
+
+		private Task(OpenTileEntity owner, Runnable action, int period) {
+			this.owner = owner;
+			this.action = action;
+			this.period = period;
+		}
+
+		public void cancel() {
+			cancelled = true;
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+	}
+
+	private static final Comparator<Task> TASK_ORDER = new Comparator<Task>() {
+		@Override
+		public int compare(Task o1, Task o2) {
+			if (o1.nextRun < o2.nextRun) return -1;
+			if (o1.nextRun > o2.nextRun) return 1;
+			return 0;
+		}
+	};
+
+	private static class WorldState {
+		private final PriorityQueue<Task> queue = new PriorityQueue<Task>(64, TASK_ORDER);
+		private final int[] load = new int[LOAD_SLOTS];
+
+		private void addLoad(long tick, int delta) {
+			load[(int)(tick % LOAD_SLOTS)] += delta;
+		}
+
+		private long selectFirstRun(long now, int period) {
+			final int candidates = Math.min(period, LOAD_SLOTS);
+			int bestOffset = 0;
+			int bestLoad = Integer.MAX_VALUE;
+			for (int offset = 1; offset <= candidates; offset++) {
+				int slotLoad = load[(int)((now + offset) % LOAD_SLOTS)];
+				if (slotLoad < bestLoad) {
+					bestLoad = slotLoad;
+					bestOffset = offset;
+				}
+			}
+			return now + bestOffset;
+		}
+	}
+
+	private static final Map<World, WorldState> worlds = new WeakHashMap<World, WorldState>();
+
+	private static WorldState getState(World world) {
+		WorldState state = worlds.get(world);
+		if (state == null) {
+			state = new WorldState();
+			worlds.put(world, state);
+		}
+		return state;
+	}
+
+	static Task schedule(OpenTileEntity owner, int period, Runnable action) {
+		Preconditions.checkArgument(period > 0, "Invalid task period: %s", period);
+		final World world = owner.worldObj;
+		Preconditions.checkNotNull(world, "Tile %s is not in world", owner);
+
+		WorldState state = getState(world);
+		Task task = new Task(owner, action, period);
+		task.nextRun = state.selectFirstRun(world.getTotalWorldTime(), period);
+		state.addLoad(task.nextRun, 1);
+		state.queue.add(task);
+		return task;
+	}
+
+	private static void update(World world) {
+		WorldState state = worlds.get(world);
+		if (state == null) return;
+
+		final long now = world.getTotalWorldTime();
+		final long deadline = System.nanoTime() + LibConfig.tileTaskBudget * 1000L;
+		boolean first = true;
+
+		Task task;
+		while ((task = state.queue.peek()) != null && task.nextRun <= now) {
+			// always run at least one task, so deferred ones won't starve
+			if (!first && System.nanoTime() > deadline) break;
+			first = false;
+
+			state.queue.poll();
+			state.addLoad(task.nextRun, -1);
+
+			if (task.cancelled) continue;
+			if (task.owner.isInvalid()) {
+				task.cancelled = true;
+				continue;
+			}
+
+			try {
+				task.action.run();
+			} catch (Throwable t) {
+				Log.warn(t, "Error in periodic task of tile %s (%s), cancelling", task.owner, task.owner.getClass());
+				task.cancelled = true;
+				continue;
+			}
+
+			long next = task.nextRun + task.period;
+			while (next <= now)
+				next += task.period;
+
+			task.nextRun = next;
+			state.addLoad(next, 1);
+			state.queue.add(task);
+		}
+	}
+
+	/**
+	 * Tasks hold their owners, which reference world, so weak keys alone
+	 * never release it
+	 */
+	@ForgeSubscribe
+	public void onWorldUnload(WorldEvent.Unload evt) {
+		WorldState state = worlds.remove(evt.world);
+		if (state != null) {
+			for (Task task : state.queue)
+				task.cancelled = true;
+		}
+	}
+
+	@Override
+	public void tickStart(EnumSet<TickType> type, Object... tickData) {}
+
+	@Override
+	public void tickEnd(EnumSet<TickType> type, Object... tickData) {
+		if (type.contains(TickType.WORLD) && tickData.length > 0 && tickData[0] instanceof World) update((World)tickData[0]);
+	}
+
+	@Override
+	public EnumSet<TickType> ticks() {
+		return EnumSet.of(TickType.WORLD);
+	}
+
+	@Override
+	public String getLabel() {
+		return "OpenModsTileTaskScheduler";
+	}
+
+}
@@ -13,6 +13,7 @@ import net.minecraft.util.MovingObjectPosition;
 import net.minecraft.world.World;
 import net.minecraftforge.common.ForgeDirection;
 import openmods.IInventoryProvider;
+import openmods.tileentity.OpenTileEntity;
 
 public class BlockUtils {
 
@@ -111,6 +112,7 @@ public class BlockUtils {
 	}
 
 	public static TileEntity getTileInDirection(TileEntity tile, ForgeDirection direction) {
+		if (tile instanceof OpenTileEntity) return ((OpenTileEntity)tile).getTileInDirection(direction);
 		int targetX = tile.xCoord + direction.offsetX;
 		int targetY = tile.yCoord + direction.offsetY;
 		int targetZ = tile.zCoord + direction.offsetZ;
@@ -66,6 +66,49 @@ public class ByteUtils {
 		return result;
 	}
 
+	/**
+	 * Variable length encoding of long, treated as unsigned
+	 */
+	public static void writeVLL(DataOutput output, long value) {
+		try {
+			while ((value & ~0x7FL) != 0) {
+				output.writeByte((int)(value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			output.writeByte((int)value);
+		} catch (IOException e) {
+			Throwables.propagate(e);
+		}
+	}
+
+	public static long readVLL(DataInput input) {
+		long result = 0;
+		int shift = 0;
+		int b;
+		try {
+			do {
+				b = input.readByte();
+				result = result | ((long)(b & 0x7F) << shift);
+				shift += 7;
+			} while (b < 0);
+		} catch (IOException e) {
+			Throwables.propagate(e);
+		}
+		return result;
+	}
+
+	/**
+	 * Maps signed values to unsigned, so small negative numbers have short
+	 * VLI encoding
+	 */
+	public static long zigzagEncode(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	public static long zigzagDecode(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
 	public static int nextPowerOf2(int v) {
 		v--;
 		v |= v >> 1;
@@ -2,18 +2,25 @@ package openmods.utils.render;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.imageio.ImageIO;
 
 import net.minecraft.util.ChatAllowedCharacters;
 import openmods.OpenMods;
 
+import com.google.common.collect.Lists;
+
 public class FontSizeChecker {
 
 	private static FontSizeChecker instance = null;
 
 	private int[] charWidth = new int[256];
 
+	// width of every char, filled after font texture is read
+	private final byte[] charWidthLookup = new byte[Character.MAX_VALUE + 1];
+
 	public static FontSizeChecker getInstance() {
 		if (instance == null) {
 			instance = new FontSizeChecker("textures/font/ascii.png");
@@ -23,6 +30,18 @@ public class FontSizeChecker {
 
 	private FontSizeChecker(String textureFile) {
 		readFontTexture(textureFile);
+		fillCharWidthLookup();
+	}
+
+	private void fillCharWidthLookup() {
+		Arrays.fill(charWidthLookup, (byte)8);
+		final String allowed = ChatAllowedCharacters.allowedCharacters;
+		// backwards, so first occurence wins (same as indexOf)
+		for (int i = allowed.length() - 1; i >= 0; i--)
+			if (i + 32 < charWidth.length) charWidthLookup[allowed.charAt(i)] = (byte)charWidth[i + 32];
+
+		charWidthLookup[32] = 4;
+		charWidthLookup[167] = -1;
 	}
 
 	private void readFontTexture(String par1Str) {
@@ -74,15 +93,7 @@ public class FontSizeChecker {
 	}
 
 	public int getCharWidth(char par1) {
-		if (par1 == 167) {
-			return -1;
-		} else if (par1 == 32) {
-			return 4;
-		} else {
-			int i = ChatAllowedCharacters.allowedCharacters.indexOf(par1);
-			if (i != -1) { return this.charWidth[i + 32]; }
-		}
-		return 8;
+		return charWidthLookup[par1];
 	}
 
 	public int getStringWidth(String par1Str) {
@@ -120,6 +131,111 @@ public class FontSizeChecker {
 		return i;
 	}
 
+	/**
+	 * Splits text to lines not wider than {@code width}, breaking on spaces
+	 * and newlines where possible. Formatting codes active at end of line
+	 * are repeated at start of next one (like
+	 * {@code FontRenderer.listFormattedStringToWidth}, but without GL)
+	 */
+	public List<String> wrapToWidth(String text, int width) {
+		List<String> result = Lists.newArrayList();
+		String remaining = text;
+		while (true) {
+			final int split = findLineEnd(remaining, width);
+			if (split >= remaining.length()) {
+				result.add(remaining);
+				break;
+			}
+
+			final String line = remaining.substring(0, split);
+			result.add(line);
+
+			final char c = remaining.charAt(split);
+			final boolean skipChar = c == ' ' || c == '\n';
+			final String next = getActiveFormatting(line) + remaining.substring(split + (skipChar? 1 : 0));
+			// formatting is repeated, so only printable chars show progress
+			if (countPrintable(next) >= countPrintable(remaining)) {
+				result.add(next);
+				break;
+			}
+			remaining = next;
+		}
+		return result;
+	}
+
+	private int findLineEnd(String text, int maxWidth) {
+		final int length = text.length();
+		int width = 0;
+		int lastSpace = -1;
+		boolean bold = false;
+		boolean printed = false;
+
+		int i;
+		for (i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			if (c == '\n') return i;
+
+			if (c == 167 && i < length - 1) {
+				final char code = text.charAt(++i);
+				if (code == 'l' || code == 'L') bold = true;
+				else if (code == 'r' || code == 'R' || isColorCode(code)) bold = false;
+				continue;
+			}
+
+			if (c == ' ') lastSpace = i;
+
+			width += getCharWidth(c);
+			if (bold) width++;
+
+			if (width > maxWidth) {
+				// always progress, even if single char does not fit -
+				// formatting prefix alone would be repeated on next line
+				if (!printed) return i + 1;
+				break;
+			}
+
+			printed = true;
+		}
+
+		if (i != length && lastSpace > 0 && lastSpace < i) return lastSpace;
+		return i;
+	}
+
+	private static int countPrintable(String text) {
+		final int length = text.length();
+		int result = 0;
+		for (int i = 0; i < length; i++) {
+			if (text.charAt(i) == 167 && i < length - 1) i++;
+			else result++;
+		}
+		return result;
+	}
+
+	private static boolean isColorCode(char c) {
+		return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	private static boolean isStyleCode(char c) {
+		return (c >= 'k' && c <= 'o') || (c >= 'K' && c <= 'O');
+	}
+
+	private static String getActiveFormatting(String text) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < text.length() - 1; i++) {
+			if (text.charAt(i) != 167) continue;
+			final char code = text.charAt(++i);
+			if (isColorCode(code)) {
+				result.setLength(0);
+				result.append((char)167).append(code);
+			} else if (isStyleCode(code)) {
+				result.append((char)167).append(code);
+			} else if (code == 'r' || code == 'R') {
+				result.setLength(0);
+			}
+		}
+		return result.toString();
+	}
+
 	public int getStringHeight(String par1Str) {
 		return (par1Str == null? 0 : 8);
 	}
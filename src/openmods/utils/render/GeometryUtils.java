@@ -1,10 +1,11 @@
 package openmods.utils.render;
 
 import java.util.EnumSet;
-import java.util.Set;
 
 import net.minecraft.util.Vec3;
 import net.minecraftforge.common.ForgeDirection;
+import openmods.shapes.BulkShapeables;
+import openmods.shapes.IBulkShapeable;
 import openmods.shapes.IShapeable;
 import openmods.utils.MathUtils;
 
@@ -109,49 +110,80 @@ public class GeometryUtils {
 	}
 
 	public static void makeSphere(int radiusX, int radiusY, int radiusZ, IShapeable shapeable, EnumSet<Octant> octants) {
+		makeSphere(radiusX, radiusY, radiusZ, BulkShapeables.wrap(shapeable), octants);
+	}
+
+	private static double normalize(int v, double invRadius) {
+		return v == 0? 0 : v * invRadius;
+	}
 
+	/**
+	 * Surface of ellipsoid, emitted as one or two rows per Y/Z pair. Blocks
+	 * on octant boundaries are emitted only once.
+	 */
+	public static void makeSphere(int radiusX, int radiusY, int radiusZ, IBulkShapeable shapeable, EnumSet<Octant> octants) {
 		final double invRadiusX = 1.0 / radiusX;
 		final double invRadiusY = 1.0 / radiusY;
 		final double invRadiusZ = 1.0 / radiusZ;
 
-		final Set<Octant> octantSet = octants;
-
-		double nextXn = 0;
-		forX: for (int x = 0; x <= radiusX; ++x) {
-			final double xn = nextXn;
-			nextXn = (x + 1) * invRadiusX;
-			double nextYn = 0;
-			forY: for (int y = 0; y <= radiusY; ++y) {
-				final double yn = nextYn;
-				nextYn = (y + 1) * invRadiusY;
-				double nextZn = 0;
-				forZ: for (int z = 0; z <= radiusZ; ++z) {
-					final double zn = nextZn;
-					nextZn = (z + 1) * invRadiusZ;
-
-					double distanceSq = MathUtils.lengthSq(xn, yn, zn);
-					if (distanceSq > 1) {
-						if (z == 0) {
-							if (y == 0) {
-								break forX;
-							}
-							break forY;
-						}
-						break forZ;
-					}
-
+		for (int y = 0; y <= radiusY; ++y) {
+			final double yn = normalize(y, invRadiusY);
+			final double nextYn = (y + 1) * invRadiusY;
+			if (MathUtils.lengthSq(0, yn, 0) > 1) break;
+
+			for (int z = 0; z <= radiusZ; ++z) {
+				final double zn = normalize(z, invRadiusZ);
+				final double nextZn = (z + 1) * invRadiusZ;
+				if (MathUtils.lengthSq(0, yn, zn) > 1) break;
+
+				int maxX = 0;
+				while (maxX < radiusX && MathUtils.lengthSq(normalize(maxX + 1, invRadiusX), yn, zn) <= 1)
+					maxX++;
+
+				// blocks with all outer neighbours inside are skipped
+				int minX = 0;
+				while (minX <= maxX) {
+					final double xn = normalize(minX, invRadiusX);
+					final double nextXn = (minX + 1) * invRadiusX;
 					if (MathUtils.lengthSq(nextXn, yn, zn) <= 1
 							&& MathUtils.lengthSq(xn, nextYn, zn) <= 1
-							&& MathUtils.lengthSq(xn, yn, nextZn) <= 1) {
-						continue;
-					}
-
-					for (Octant octant : octantSet) {
-						shapeable.setBlock(x * octant.getXOffset(), y
-								* octant.getYOffset(), z * octant.getZOffset());
-					}
+							&& MathUtils.lengthSq(xn, yn, nextZn) <= 1) minX++;
+					else break;
+				}
+
+				if (minX <= maxX) emitMirroredRows(minX, maxX, y, z, octants, shapeable);
+			}
+		}
+	}
+
+	private static boolean isOctantAllowed(EnumSet<Octant> octants, int signX, int signY, int signZ) {
+		// zero sign matches both halves
+		for (Octant octant : octants)
+			if ((signX == 0 || octant.getXOffset() == signX)
+					&& (signY == 0 || octant.getYOffset() == signY)
+					&& (signZ == 0 || octant.getZOffset() == signZ)) return true;
+
+		return false;
+	}
+
+	private static void emitMirroredRows(int minX, int maxX, int y, int z, EnumSet<Octant> octants, IBulkShapeable shapeable) {
+		for (int signY = (y == 0)? 0 : 1; signY >= -1; signY -= 2) {
+			for (int signZ = (z == 0)? 0 : 1; signZ >= -1; signZ -= 2) {
+				final boolean positive = isOctantAllowed(octants, 1, signY, signZ);
+				final boolean negative = isOctantAllowed(octants, -1, signY, signZ);
+				final int rowY = (signY == 0)? 0 : y * signY;
+				final int rowZ = (signZ == 0)? 0 : z * signZ;
+
+				if (positive && negative && minX == 0) {
+					shapeable.setBlocks(-maxX, maxX, rowY, rowZ);
+				} else {
+					if (negative) shapeable.setBlocks(-maxX, -minX, rowY, rowZ);
+					if (positive) shapeable.setBlocks(minX, maxX, rowY, rowZ);
 				}
+
+				if (signZ == 0) break;
 			}
+			if (signY == 0) break;
 		}
 	}
 
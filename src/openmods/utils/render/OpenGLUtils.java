@@ -5,6 +5,7 @@ import java.nio.IntBuffer;
 
 import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.util.Vec3;
+import openmods.physics.FastVector;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
@@ -37,6 +38,11 @@ public class OpenGLUtils {
 		return Vec3.createVectorHelper(objectX, objectY, objectZ);
 	}
 
+	public static FastVector unproject(float winX, float winY, float winZ, FastVector result) {
+		GLU.gluUnProject(winX, winY, winZ, modelview, projection, viewport, objectCoords);
+		return result.set(objectCoords.get(0), objectCoords.get(1), objectCoords.get(2));
+	}
+
 	private static FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
 
 	public static synchronized void loadMatrix(Matrix4f transform) {
@@ -61,42 +61,61 @@ public class RenderUtils {
 				interpolateValue(e.posZ, e.prevPosZ, partialTickTime));
 	}
 
-	public static void rotateFacesOnRenderer(OpenBlock block, ForgeDirection rotation, RenderBlocks renderer) {
-		BlockRotationMode mode = block.getRotationMode();
+	private static final int UV_TOP = 0;
+	private static final int UV_BOTTOM = 1;
+	private static final int UV_NORTH = 2;
+	private static final int UV_SOUTH = 3;
+	private static final int UV_EAST = 4;
+	private static final int UV_WEST = 5;
+
+	// [rotation mode][direction] -> uv rotations of faces (-1: not changed)
+	private static final int[][][] UV_ROTATIONS;
+
+	static {
+		final BlockRotationMode[] modes = BlockRotationMode.values();
+		final ForgeDirection[] directions = ForgeDirection.values();
+		UV_ROTATIONS = new int[modes.length][directions.length][];
+		for (BlockRotationMode mode : modes)
+			for (ForgeDirection rotation : directions)
+				UV_ROTATIONS[mode.ordinal()][rotation.ordinal()] = calculateFaceRotations(mode, rotation);
+	}
+
+	private static int[] calculateFaceRotations(BlockRotationMode mode, ForgeDirection rotation) {
+		final int[] result = { -1, -1, -1, -1, -1, -1 };
 		switch (mode) {
 			case SIX_DIRECTIONS:
 				switch (rotation) {
 					case DOWN:
-						renderer.uvRotateSouth = 3;
-						renderer.uvRotateNorth = 3;
-						renderer.uvRotateEast = 3;
-						renderer.uvRotateWest = 3;
+						result[UV_SOUTH] = 3;
+						result[UV_NORTH] = 3;
+						result[UV_EAST] = 3;
+						result[UV_WEST] = 3;
 						break;
 					case EAST:
-						renderer.uvRotateTop = 1;
-						renderer.uvRotateBottom = 2;
-						renderer.uvRotateWest = 1;
-						renderer.uvRotateEast = 2;
+						result[UV_TOP] = 1;
+						result[UV_BOTTOM] = 2;
+						result[UV_WEST] = 1;
+						result[UV_EAST] = 2;
 						break;
 					case NORTH:
-						renderer.uvRotateNorth = 2;
-						renderer.uvRotateSouth = 1;
+						result[UV_NORTH] = 2;
+						result[UV_SOUTH] = 1;
 						break;
 					case SOUTH:
-						renderer.uvRotateTop = 3;
-						renderer.uvRotateBottom = 3;
-						renderer.uvRotateNorth = 1;
-						renderer.uvRotateSouth = 2;
+						result[UV_TOP] = 3;
+						result[UV_BOTTOM] = 3;
+						result[UV_NORTH] = 1;
+						result[UV_SOUTH] = 2;
 						break;
 					case UNKNOWN:
 						break;
 					case UP:
 						break;
 					case WEST:
-						renderer.uvRotateTop = 2;
-						renderer.uvRotateBottom = 1;
-						renderer.uvRotateWest = 2;
-						renderer.uvRotateEast = 1;
+						result[UV_TOP] = 2;
+						result[UV_BOTTOM] = 1;
+						result[UV_WEST] = 2;
+						result[UV_EAST] = 1;
 						break;
 					default:
 						break;
@@ -106,13 +125,13 @@ public class RenderUtils {
 			case FOUR_DIRECTIONS:
 				switch (rotation) {
 					case EAST:
-						renderer.uvRotateTop = 1;
+						result[UV_TOP] = 1;
 						break;
 					case WEST:
-						renderer.uvRotateTop = 2;
+						result[UV_TOP] = 2;
 						break;
 					case SOUTH:
-						renderer.uvRotateTop = 3;
+						result[UV_TOP] = 3;
 						break;
 					default:
 						break;
@@ -123,6 +142,17 @@ public class RenderUtils {
 
 		}
 
+		return result;
+	}
+
+	public static void rotateFacesOnRenderer(OpenBlock block, ForgeDirection rotation, RenderBlocks renderer) {
+		final int[] rotations = UV_ROTATIONS[block.getRotationMode().ordinal()][rotation.ordinal()];
+		if (rotations[UV_TOP] >= 0) renderer.uvRotateTop = rotations[UV_TOP];
+		if (rotations[UV_BOTTOM] >= 0) renderer.uvRotateBottom = rotations[UV_BOTTOM];
+		if (rotations[UV_NORTH] >= 0) renderer.uvRotateNorth = rotations[UV_NORTH];
+		if (rotations[UV_SOUTH] >= 0) renderer.uvRotateSouth = rotations[UV_SOUTH];
+		if (rotations[UV_EAST] >= 0) renderer.uvRotateEast = rotations[UV_EAST];
+		if (rotations[UV_WEST] >= 0) renderer.uvRotateWest = rotations[UV_WEST];
 	}
 
 	public static void resetFacesOnRenderer(RenderBlocks renderer) {
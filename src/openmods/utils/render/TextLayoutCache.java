@@ -0,0 +1,101 @@
+package openmods.utils.render;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.client.gui.FontRenderer;
+
+import com.google.common.base.Objects;
+
+/**
+ * LRU cache of wrapped text, so GUIs don't split unchanged strings every
+ * frame. Must be used only on render thread.
+ */
+public class TextLayoutCache {
+
+	private static final int MAX_ENTRIES = 256;
+
+	public static class Layout {
+		public final String[] lines;
+		public final int[] lineWidths;
+		public final int maxLineWidth;
+
+		private Layout(String[] lines, int[] lineWidths) {
+			this.lines = lines;
+			this.lineWidths = lineWidths;
+			int max = 0;
+			for (int width : lineWidths)
+				max = Math.max(max, width);
+			this.maxLineWidth = max;
+		}
+	}
+
+	private static class Key {
+		private final String text;
+		private final int width;
+		private final boolean unicode;
+
+		private Key(String text, int width, boolean unicode) {
+			this.text = text;
+			this.width = width;
+			this.unicode = unicode;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(text, width, unicode);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) return false;
+			Key other = (Key)obj;
+			return width == other.width && unicode == other.unicode && text.equals(other.text);
+		}
+	}
+
+	private static final Map<Key, Layout> cache = new LinkedHashMap<Key, Layout>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private static int generation;
+
+	@SuppressWarnings("unchecked")
+	public static Layout getLayout(FontRenderer fontRenderer, String text, int width) {
+		final Key key = new Key(text, width, fontRenderer.getUnicodeFlag());
+		Layout layout = cache.get(key);
+		if (layout == null) {
+			List<String> lines = fontRenderer.listFormattedStringToWidth(text, width);
+			String[] lineArray = lines.toArray(new String[lines.size()]);
+			int[] lineWidths = new int[lineArray.length];
+			for (int i = 0; i < lineArray.length; i++)
+				lineWidths[i] = fontRenderer.getStringWidth(lineArray[i]);
+
+			layout = new Layout(lineArray, lineWidths);
+			cache.put(key, layout);
+		}
+		return layout;
+	}
+
+	/**
+	 * Called on resource reload, since font may change
+	 */
+	public static void clear() {
+		cache.clear();
+		generation++;
+	}
+
+	/**
+	 * Changes on every {@link #clear()}, so layouts stored outside cache can
+	 * be validated
+	 */
+	public static int getGeneration() {
+		return generation;
+	}
+}